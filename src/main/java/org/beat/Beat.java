@@ -1,15 +1,32 @@
 package org.beat;
 
+import org.beat.formats.text.DocumentReader;
+import org.beat.formats.text.IncrementalDecoder;
+import org.beat.formats.text.NumberMode;
 import org.beat.formats.text.TextDecoder;
 import org.beat.io.CharInput;
 import org.beat.io.standard.*;
 import org.beat.formats.text.TextEncoder;
 import org.beat.references.ReferenceProvider;
 import org.beat.references.ReferenceTracker;
+import org.beat.references.impl.ScopedReferenceTracker;
 import org.beat.repositories.ExaminerRepository;
 import org.beat.repositories.ProducerRepository;
+import org.beat.repositories.standard.ExaminerCache;
+import org.beat.repositories.standard.ProducerCache;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Beat {
 
@@ -21,19 +38,31 @@ public class Beat {
     private ExaminerRepository examinerRepository;
     private ReferenceProvider referenceProvider;
     private ReferenceTracker referenceTracker;
+    private ProducerCache producerCache;
+    private ExaminerCache examinerCache;
     private boolean skipNullFields;
     private boolean useCleanDefaultTypes;
+    private NumberMode numberMode = NumberMode.BIG;
 
     public TextDecoder newTextDecoder() {
-        var decoder = new TextDecoder(producerRepository, referenceTracker);
+        return newTextDecoder(referenceTracker);
+    }
+
+    private TextDecoder newTextDecoder(ReferenceTracker referenceTracker) {
+        var decoder = new TextDecoder(producerRepository, referenceTracker, producerCache);
 
         decoder.setUseCleanDefaultTypes(useCleanDefaultTypes);
+        decoder.setNumberMode(numberMode);
 
         return decoder;
     }
 
+    public IncrementalDecoder newIncrementalDecoder() {
+        return new IncrementalDecoder(newTextDecoder());
+    }
+
     public TextEncoder newTextEncoder() {
-        var encoder = new TextEncoder(examinerRepository, referenceProvider);
+        var encoder = new TextEncoder(examinerRepository, referenceProvider, examinerCache);
 
         encoder.setSkipNullFields(skipNullFields);
 
@@ -48,6 +77,10 @@ public class Beat {
         return newTextDecoder().read(input);
     }
 
+    public Object readText(char[] text) {
+        return newTextDecoder().read(text);
+    }
+
     public Object readText(Reader reader) {
         return newTextDecoder().read(new ReaderInput(reader));
     }
@@ -60,10 +93,86 @@ public class Beat {
         return newTextDecoder().read(input, typeClass);
     }
 
+    public <T> T readText(char[] text, Class<T> typeClass) {
+        return newTextDecoder().read(text, typeClass);
+    }
+
     public <T> T readText(Reader reader, Class<T> typeClass) {
         return newTextDecoder().read(new ReaderInput(reader), typeClass);
     }
 
+    public Object readBytes(byte[] bytes) {
+        return newTextDecoder().read(new Utf8Input(bytes));
+    }
+
+    public Object readBytes(ByteBuffer bytes) {
+        return newTextDecoder().read(new Utf8Input(bytes));
+    }
+
+    public Object readBytes(InputStream stream) {
+        return newTextDecoder().read(new Utf8Input(stream));
+    }
+
+    public <T> T readBytes(byte[] bytes, Class<T> typeClass) {
+        return newTextDecoder().read(new Utf8Input(bytes), typeClass);
+    }
+
+    public <T> T readBytes(ByteBuffer bytes, Class<T> typeClass) {
+        return newTextDecoder().read(new Utf8Input(bytes), typeClass);
+    }
+
+    public <T> T readBytes(InputStream stream, Class<T> typeClass) {
+        return newTextDecoder().read(new Utf8Input(stream), typeClass);
+    }
+
+    public Object readFile(Path path) {
+        try (var input = Utf8Input.mapFile(path)) {
+            return newTextDecoder().read(input);
+        }
+    }
+
+    public <T> T readFile(Path path, Class<T> typeClass) {
+        try (var input = Utf8Input.mapFile(path)) {
+            return newTextDecoder().read(input, typeClass);
+        }
+    }
+
+    // Items are decoded from the mapped file as the stream advances, closing
+    // the stream releases the file
+    public <T> Stream<T> streamFile(Path path, Class<T> itemClass) {
+        var input = Utf8Input.mapFile(path);
+        var items = newTextDecoder().readItems(input, itemClass);
+        var spliterator = Spliterators.spliteratorUnknownSize(items, Spliterator.ORDERED);
+
+        return StreamSupport.stream(spliterator, false).onClose(input::close);
+    }
+
+    // Closing the stream closes the reader
+    public <T> Stream<T> streamText(Reader reader, Class<T> itemClass) {
+        var input = new ReaderInput(reader);
+        var items = newTextDecoder().readItems(input, itemClass);
+        var spliterator = Spliterators.spliteratorUnknownSize(items, Spliterator.ORDERED);
+
+        return StreamSupport.stream(spliterator, false).onClose(input::close);
+    }
+
+    public <T> DocumentReader<T> readDocuments(Reader reader, Class<T> typeClass) {
+        return readDocuments(reader, typeClass, true);
+    }
+
+    public <T> DocumentReader<T> readDocuments(InputStream stream, Class<T> typeClass) {
+        return readDocuments(new InputStreamReader(stream, StandardCharsets.UTF_8), typeClass, true);
+    }
+
+    // Scoped references are only visible within their document, the rest are
+    // shared with the following documents.
+    public <T> DocumentReader<T> readDocuments(Reader reader, Class<T> typeClass, boolean scopedReferences) {
+        var scope = new ScopedReferenceTracker(referenceTracker);
+        var decoder = newTextDecoder(scope);
+
+        return new DocumentReader<>(decoder, new ReaderInput(reader), typeClass, scopedReferences ? scope : null);
+    }
+
     public String writeText(Object value) {
         return newTextEncoder().write(value);
     }
@@ -81,6 +190,31 @@ public class Beat {
         }
     }
 
+    // The writer is flushed but not closed
+    public void writeText(Object value, Writer writer) {
+        writeText(value, writer, false);
+    }
+
+    public void writeText(Object value, Writer writer, boolean prettyPrint) {
+        var output = new WriterOutput(writer, prettyPrint);
+
+        newTextEncoder().write(value, output);
+
+        output.flush();
+    }
+
+    public void writeBytes(Object value, OutputStream stream) {
+        writeBytes(value, stream, false);
+    }
+
+    public void writeBytes(Object value, OutputStream stream, boolean prettyPrint) {
+        var output = new WriterOutput(stream, prettyPrint);
+
+        newTextEncoder().write(value, output);
+
+        output.flush();
+    }
+
     public ProducerRepository getProducerRepository() {
         return producerRepository;
     }
@@ -128,4 +262,28 @@ public class Beat {
     public void setReferenceProvider(ReferenceProvider referenceProvider) {
         this.referenceProvider = referenceProvider;
     }
+
+    public ProducerCache getProducerCache() {
+        return producerCache;
+    }
+
+    public void setProducerCache(ProducerCache producerCache) {
+        this.producerCache = producerCache;
+    }
+
+    public ExaminerCache getExaminerCache() {
+        return examinerCache;
+    }
+
+    public void setExaminerCache(ExaminerCache examinerCache) {
+        this.examinerCache = examinerCache;
+    }
+
+    public NumberMode getNumberMode() {
+        return numberMode;
+    }
+
+    public void setNumberMode(NumberMode numberMode) {
+        this.numberMode = numberMode;
+    }
 }
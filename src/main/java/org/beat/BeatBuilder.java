@@ -1,8 +1,11 @@
 package org.beat;
 
+import org.beat.codecs.standard.GeneratedCodecs;
+import org.beat.codecs.standard.TieredCodecs;
 import org.beat.errors.BeatException;
 import org.beat.examiners.Examiner;
 import org.beat.examiners.standard.StandardExaminers;
+import org.beat.formats.text.NumberMode;
 import org.beat.producers.Producer;
 import org.beat.producers.standard.StandardArrayProducers;
 import org.beat.producers.standard.StandardObjectProducers;
@@ -11,11 +14,15 @@ import org.beat.references.ReferenceProvider;
 import org.beat.references.ReferenceTracker;
 import org.beat.references.impl.StandardReferenceProvider;
 import org.beat.references.impl.StandardReferenceTracker;
+import org.beat.repositories.standard.ExaminerCache;
+import org.beat.repositories.standard.ProducerCache;
 import org.beat.repositories.standard.StandardExaminerRepository;
 import org.beat.repositories.standard.StandardProducerRepository;
 import org.beat.util.ReflectUtils;
 
 import java.lang.reflect.Type;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -25,18 +32,34 @@ public class BeatBuilder {
     private StandardExaminerRepository examiners;
     private StandardReferenceProvider referenceProvider;
     private StandardReferenceTracker referenceTracker;
+    private Map<Object, Function<TieredCodecs, Object>> tieredObjects;
 
     private boolean skipNullFieldsValue;
     private boolean useCleanDefaultTypesValue;
+    private int producerCacheSizeValue = ProducerCache.DEFAULT_MAX_SIZE;
+    private int examinerCacheSizeValue = ExaminerCache.DEFAULT_MAX_SIZE;
+    private int codecThresholdValue;
+    private NumberMode numberModeValue = NumberMode.BIG;
 
     public BeatBuilder withObject(Class<?> type) {
         return withObject(type, ReflectUtils.computeDefaultTypeName(type));
     }
 
     public BeatBuilder withObject(Class<?> type, String name) {
-        return withType(type, name,
-                StandardExaminers.createObject(type, name),
-                StandardObjectProducers.create(type, name));
+        var codec = GeneratedCodecs.find(type, name);
+
+        if (codec != null) {
+            return withType(type, name, codec, codec);
+        }
+
+        var examiner = StandardExaminers.createObject(type, name);
+        var producer = StandardObjectProducers.create(type, name);
+
+        // Wrapped when building, once the codec threshold is known
+        getTieredObjects().put(examiner, tiers -> tiers.wrapExaminer(type, examiner));
+        getTieredObjects().put(producer, tiers -> tiers.wrapProducer(type, name, producer));
+
+        return withType(type, name, examiner, producer);
     }
 
     public BeatBuilder withArray(Class<?> type) {
@@ -105,6 +128,11 @@ public class BeatBuilder {
         return this;
     }
 
+    public BeatBuilder withExaminer(Examiner examiner, Predicate<Object> condition, boolean classPure) {
+        getExaminers().register(examiner, condition, classPure);
+        return this;
+    }
+
     public BeatBuilder withExaminer(Examiner examiner, Class<?> type) {
         getExaminers().register(examiner, type);
         return this;
@@ -138,6 +166,30 @@ public class BeatBuilder {
         return this;
     }
 
+    public BeatBuilder numberMode(NumberMode value) {
+        numberModeValue = value;
+        return this;
+    }
+
+    public BeatBuilder producerCacheSize(int value) {
+        producerCacheSizeValue = value;
+        return this;
+    }
+
+    public BeatBuilder examinerCacheSize(int value) {
+        examinerCacheSizeValue = value;
+        return this;
+    }
+
+    // Objects of a class are handled by a runtime compiled codec after being
+    // decoded or encoded this many times, zero keeps the reflective path. The
+    // codec is compiled in the background and needs the system Java compiler,
+    // see RuntimeCodecs.isAvailable().
+    public BeatBuilder codecThreshold(int value) {
+        codecThresholdValue = value;
+        return this;
+    }
+
     public BeatBuilder withValueReference(Object value, String reference) {
         if (referenceProvider == null) {
             referenceProvider = new StandardReferenceProvider();
@@ -190,14 +242,42 @@ public class BeatBuilder {
         return examiners;
     }
 
+    private Map<Object, Function<TieredCodecs, Object>> getTieredObjects() {
+        if (tieredObjects == null) {
+            tieredObjects = new IdentityHashMap<>();
+        }
+        return tieredObjects;
+    }
+
     public Beat build() {
+        // Each Beat gets its own tiers, later builds cannot change them
+        var tiers = codecThresholdValue != 0 ? new TieredCodecs(codecThresholdValue) : null;
         var beat = new Beat();
-        beat.setExaminerRepository(examiners);
-        beat.setProducerRepository(producers);
+
+        if (tiers != null && tieredObjects != null) {
+            var wrapped = new IdentityHashMap<Object, Object>();
+            Function<Object, Object> wrap = original -> {
+                var wrapper = tieredObjects.get(original);
+                if (wrapper == null) {
+                    return original;
+                }
+                return wrapped.computeIfAbsent(original, o -> wrapper.apply(tiers));
+            };
+            beat.setExaminerRepository(examiners.map(examiner -> (Examiner)wrap.apply(examiner)));
+            beat.setProducerRepository(producers.map(producer -> (Producer)wrap.apply(producer)));
+        }
+        else {
+            beat.setExaminerRepository(examiners);
+            beat.setProducerRepository(producers);
+        }
+
         beat.setSkipNullFields(skipNullFieldsValue);
         beat.setUseCleanDefaultTypes(useCleanDefaultTypesValue);
+        beat.setNumberMode(numberModeValue);
         beat.setReferenceProvider(referenceProvider);
         beat.setReferenceTracker(referenceTracker);
+        beat.setProducerCache(new ProducerCache(producerCacheSizeValue, tiers));
+        beat.setExaminerCache(new ExaminerCache(examinerCacheSizeValue, tiers));
         return beat;
     }
 
@@ -0,0 +1,15 @@
+package org.beat.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Classes with this annotation get a generated ObjectCodec at compile time.
+// The processor is not discovered automatically, it has to be named with
+// javac -processor org.beat.codecs.processing.CodecProcessor or listed in the
+// annotationProcessors of the Maven compiler plugin.
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface BeatCodec {
+}
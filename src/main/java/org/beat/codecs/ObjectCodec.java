@@ -0,0 +1,7 @@
+package org.beat.codecs;
+
+import org.beat.examiners.PrimitiveObjectExaminer;
+import org.beat.producers.PrimitiveObjectProducer;
+
+public interface ObjectCodec extends PrimitiveObjectProducer, PrimitiveObjectExaminer {
+}
@@ -0,0 +1,284 @@
+package org.beat.codecs.processing;
+
+import org.beat.annotations.BeatCodec;
+import org.beat.codecs.standard.CodecModel;
+import org.beat.codecs.standard.CodecProperty;
+import org.beat.codecs.standard.CodecWriter;
+import org.beat.codecs.standard.GeneratedCodecs;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+
+// Generates an ObjectCodec for each class annotated with @BeatCodec, using the
+// same keys that ClassObjectProducer and ClassObjectExaminer find by reflection.
+@SupportedAnnotationTypes("org.beat.annotations.BeatCodec")
+public class CodecProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (var element : roundEnv.getElementsAnnotatedWith(BeatCodec.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error("@BeatCodec is only supported on classes", element);
+            }
+            else if (validate((TypeElement)element)) {
+                generate((TypeElement)element);
+            }
+        }
+        return true;
+    }
+
+    private boolean validate(TypeElement type) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            error("@BeatCodec class cannot be abstract", type);
+            return false;
+        }
+
+        for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            var currentType = (TypeElement)current;
+
+            if (currentType.getModifiers().contains(Modifier.PRIVATE)) {
+                error("@BeatCodec class must be accessible from its package", type);
+                return false;
+            }
+            else if (currentType.getNestingKind() == NestingKind.MEMBER) {
+                if (!currentType.getModifiers().contains(Modifier.STATIC)) {
+                    error("@BeatCodec class must be top-level or static", type);
+                    return false;
+                }
+            }
+            else if (currentType.getNestingKind() != NestingKind.TOP_LEVEL) {
+                error("@BeatCodec class must be top-level or static", type);
+                return false;
+            }
+        }
+
+        for (var constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+
+        error("@BeatCodec class requires a constructor without parameters", type);
+        return false;
+    }
+
+    private void generate(TypeElement type) {
+        var elements = processingEnv.getElementUtils();
+        var packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        var qualifiedCodecName = GeneratedCodecs.codecName(elements.getBinaryName(type).toString());
+        var codecName = qualifiedCodecName.substring(qualifiedCodecName.lastIndexOf('.') + 1);
+        var model = new CodecModel(packageName, type.getQualifiedName().toString(), codecName);
+        var hierarchy = hierarchyOf(type);
+
+        // Fields go first, so accessor methods replace fields with the same key
+        var fieldSetters = new LinkedHashMap<String, CodecProperty>();
+        var fieldGetters = new LinkedHashMap<String, CodecProperty>();
+        var methodSetters = new LinkedHashMap<String, CodecProperty>();
+        var methodGetters = new LinkedHashMap<String, CodecProperty>();
+
+        for (var current : hierarchy) {
+            for (var field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                var modifiers = field.getModifiers();
+
+                if (!modifiers.contains(Modifier.PUBLIC)) {
+                    continue;
+                }
+
+                var name = field.getSimpleName().toString();
+                var property = property(name, name, false, field.asType());
+
+                fieldGetters.putIfAbsent(name, property);
+
+                if (!modifiers.contains(Modifier.FINAL)) {
+                    fieldSetters.putIfAbsent(name, property);
+                }
+            }
+
+            for (var method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                var modifiers = method.getModifiers();
+
+                // Static interface methods are not inherited, so reflection does not see them
+                if (!modifiers.contains(Modifier.PUBLIC)
+                        || (modifiers.contains(Modifier.STATIC) && current.getKind() == ElementKind.INTERFACE)) {
+                    continue;
+                }
+
+                var name = method.getSimpleName().toString();
+                var setterKey = parseSetterName(method);
+                var getterKey = parseGetterName(method);
+
+                if (setterKey != null) {
+                    var parameterType = method.getParameters().get(0).asType();
+                    methodSetters.putIfAbsent(setterKey, property(setterKey, name, true, parameterType));
+                }
+                else if (getterKey != null) {
+                    methodGetters.putIfAbsent(getterKey, property(getterKey, name, true, method.getReturnType()));
+                }
+            }
+        }
+
+        fieldSetters.values().forEach(model::setter);
+        methodSetters.values().forEach(model::setter);
+        fieldGetters.values().forEach(model::getter);
+        methodGetters.values().forEach(model::getter);
+
+        try (var writer = processingEnv.getFiler().createSourceFile(model.getQualifiedCodecName(), type).openWriter()) {
+            writer.write(CodecWriter.write(model));
+        }
+        catch (IOException e) {
+            error("Cannot write codec: " + e.getMessage(), type);
+        }
+    }
+
+    // Each class goes before its interfaces and its superclass, like the
+    // members returned by Class.getFields() and Class.getMethods().
+    private List<TypeElement> hierarchyOf(TypeElement type) {
+        var result = new ArrayList<TypeElement>();
+        var current = type;
+
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            result.add(current);
+
+            addInterfaces(current, result);
+
+            var superclass = current.getSuperclass();
+
+            if (superclass.getKind() != TypeKind.DECLARED) {
+                break;
+            }
+
+            current = (TypeElement)((DeclaredType)superclass).asElement();
+        }
+
+        return result;
+    }
+
+    private void addInterfaces(TypeElement type, List<TypeElement> result) {
+        for (var superinterface : type.getInterfaces()) {
+            var element = (TypeElement)((DeclaredType)superinterface).asElement();
+
+            if (!result.contains(element)) {
+                result.add(element);
+
+                addInterfaces(element, result);
+            }
+        }
+    }
+
+    private static String parseSetterName(ExecutableElement method) {
+        var name = method.getSimpleName().toString();
+
+        if (name.startsWith("set") && name.length() > 3 && method.getParameters().size() == 1) {
+            return name.substring(3, 4).toLowerCase() + name.substring(4);
+        }
+        return null;
+    }
+
+    private static String parseGetterName(ExecutableElement method) {
+        var name = method.getSimpleName().toString();
+
+        if (!method.getParameters().isEmpty()) {
+            return null;
+        }
+        else if (name.startsWith("is") && name.length() > 2) {
+            return name.substring(2, 3).toLowerCase() + name.substring(3);
+        }
+        else if (name.startsWith("get") && name.length() > 3 && !name.equals("getClass")) {
+            return name.substring(3, 4).toLowerCase() + name.substring(4);
+        }
+        return null;
+    }
+
+    private CodecProperty property(String key, String member, boolean method, TypeMirror type) {
+        var rawType = erasure(type);
+        var valueType = rawType;
+
+        if (type.getKind().isPrimitive()) {
+            valueType = processingEnv.getTypeUtils().boxedClass((PrimitiveType)type).getQualifiedName().toString();
+        }
+        else if (type.getKind() == TypeKind.VOID) {
+            valueType = "java.lang.Void";
+        }
+
+        return new CodecProperty(key, member, method, valueType, rawType, typeHint(type));
+    }
+
+    private String erasure(TypeMirror type) {
+        if (type.getKind().isPrimitive() || type.getKind() == TypeKind.VOID) {
+            return type.getKind().name().toLowerCase();
+        }
+
+        var erased = processingEnv.getTypeUtils().erasure(type);
+
+        if (erased.getKind() == TypeKind.DECLARED) {
+            return ((TypeElement)((DeclaredType)erased).asElement()).getQualifiedName().toString();
+        }
+        else if (erased.getKind() == TypeKind.ARRAY) {
+            return erasure(((ArrayType)erased).getComponentType()) + "[]";
+        }
+        return "java.lang.Object";
+    }
+
+    // Mirrors the Type returned by reflection, type variables and wildcards
+    // are not representable so they fall back to the erased class.
+    private String typeHint(TypeMirror type) {
+        if (type.getKind() == TypeKind.DECLARED) {
+            var arguments = ((DeclaredType)type).getTypeArguments();
+
+            if (!arguments.isEmpty() && arguments.stream().allMatch(this::isRepresentable)) {
+                var result = new StringBuilder("org.beat.util.Types.parameterized(");
+
+                result.append(erasure(type)).append(".class");
+
+                for (var argument : arguments) {
+                    result.append(", ").append(typeHint(argument));
+                }
+
+                return result.append(")").toString();
+            }
+        }
+        return erasure(type) + ".class";
+    }
+
+    private boolean isRepresentable(TypeMirror type) {
+        if (type.getKind() == TypeKind.DECLARED) {
+            return ((DeclaredType)type).getTypeArguments().stream().allMatch(this::isRepresentable);
+        }
+        else if (type.getKind() == TypeKind.ARRAY) {
+            var component = ((ArrayType)type).getComponentType();
+            return component.getKind().isPrimitive()
+                    || (component.getKind() == TypeKind.DECLARED && ((DeclaredType)component).getTypeArguments().isEmpty())
+                    || (component.getKind() == TypeKind.ARRAY && isRepresentable(component));
+        }
+        return false;
+    }
+
+    private void error(String message, Element element) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,62 @@
+package org.beat.codecs.standard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CodecModel {
+
+    private final String packageName;
+    private final String targetType;
+    private final String codecName;
+    private final Map<String, CodecProperty> setters;
+    private final Map<String, CodecProperty> getters;
+
+    public CodecModel(String packageName, String targetType, String codecName) {
+        this.packageName = packageName;
+        this.targetType = targetType;
+        this.codecName = codecName;
+        this.setters = new LinkedHashMap<>();
+        this.getters = new LinkedHashMap<>();
+    }
+
+    // Later properties replace earlier ones with the same key but keep their position
+    public CodecModel setter(CodecProperty property) {
+        setters.put(property.getKey(), property);
+        return this;
+    }
+
+    public CodecModel getter(CodecProperty property) {
+        getters.put(property.getKey(), property);
+        return this;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getTargetType() {
+        return targetType;
+    }
+
+    public String getCodecName() {
+        return codecName;
+    }
+
+    public String getQualifiedCodecName() {
+        if (packageName.isEmpty()) {
+            return codecName;
+        }
+        return packageName + "." + codecName;
+    }
+
+    public List<CodecProperty> getSetters() {
+        return Collections.unmodifiableList(new ArrayList<>(setters.values()));
+    }
+
+    public List<CodecProperty> getGetters() {
+        return Collections.unmodifiableList(new ArrayList<>(getters.values()));
+    }
+}
@@ -0,0 +1,50 @@
+package org.beat.codecs.standard;
+
+// Every type is kept as Java source so both the annotation processor and the
+// runtime generator can describe members without sharing a type model.
+public class CodecProperty {
+
+    private final String key;
+    private final String member;
+    private final boolean method;
+    private final String valueType;
+    private final String rawType;
+    private final String typeHint;
+
+    public CodecProperty(String key, String member, boolean method, String valueType, String rawType, String typeHint) {
+        this.key = key;
+        this.member = member;
+        this.method = method;
+        this.valueType = valueType;
+        this.rawType = rawType;
+        this.typeHint = typeHint;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    // Field or method name
+    public String getMember() {
+        return member;
+    }
+
+    public boolean isMethod() {
+        return method;
+    }
+
+    // Boxed and generic type used to cast converted values, e.g. java.util.List<a.B>
+    public String getValueType() {
+        return valueType;
+    }
+
+    // Erased type used as class literal, e.g. java.util.List or int
+    public String getRawType() {
+        return rawType;
+    }
+
+    // Expression evaluating to the java.lang.reflect.Type of the property
+    public String getTypeHint() {
+        return typeHint;
+    }
+}
@@ -0,0 +1,271 @@
+package org.beat.codecs.standard;
+
+import java.util.List;
+
+// Writes the Java source of an ObjectCodec, every name is fully qualified so
+// the generated class does not depend on imports.
+public class CodecWriter {
+
+    private CodecWriter() {}
+
+    public static String write(CodecModel model) {
+        var out = new StringBuilder();
+        var target = model.getTargetType();
+        var simpleName = target.substring(target.lastIndexOf('.') + 1);
+        var setters = model.getSetters();
+        var getters = model.getGetters();
+
+        if (!model.getPackageName().isEmpty()) {
+            out.append("package ").append(model.getPackageName()).append(";\n\n");
+        }
+
+        out.append("// Generated by Beat, do not edit\n");
+        out.append("public final class ").append(model.getCodecName()).append(" implements org.beat.codecs.ObjectCodec {\n\n");
+
+        out.append("    private static final java.util.Set<java.lang.String> KEYS = java.util.Collections.unmodifiableSet(\n");
+        out.append("            new java.util.LinkedHashSet<java.lang.String>(java.util.Arrays.asList(");
+        for (var i = 0; i < getters.size(); i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            out.append(literal(getters.get(i).getKey()));
+        }
+        out.append(")));\n\n");
+
+        for (var i = 0; i < setters.size(); i++) {
+            out.append("    private static final java.lang.reflect.Type HINT_").append(i)
+                    .append(" = ").append(setters.get(i).getTypeHint()).append(";\n");
+        }
+        if (!setters.isEmpty()) {
+            out.append("\n");
+        }
+
+        out.append("    private static final org.beat.producers.standard.object.SlotTable SLOTS = new org.beat.producers.standard.object.SlotTable(\n");
+        out.append("            java.util.Arrays.<org.beat.producers.standard.object.StandardObjectSlot>asList(");
+        for (var i = 0; i < setters.size(); i++) {
+            out.append(i > 0 ? ",\n" : "\n");
+            var kind = primitiveKind(setters.get(i).getRawType());
+
+            if (kind != null) {
+                out.append("                    org.beat.producers.standard.object.StandardObjectSlot.of")
+                        .append(kind.charAt(0)).append(kind.substring(1).toLowerCase()).append("(");
+            }
+            else {
+                out.append("                    new org.beat.producers.standard.object.StandardObjectSlot(");
+            }
+            out.append(literal(setters.get(i).getKey())).append(", HINT_").append(i)
+                    .append(", ").append(model.getCodecName()).append("::set").append(i);
+            if (kind != null) {
+                out.append(", ").append(model.getCodecName()).append("::setUnboxed").append(i);
+            }
+            out.append(")");
+        }
+        out.append("));\n\n");
+
+        out.append("    private final java.lang.String typeName;\n\n");
+
+        out.append("    public ").append(model.getCodecName()).append("(java.lang.String typeName) {\n");
+        out.append("        this.typeName = typeName;\n");
+        out.append("    }\n\n");
+
+        out.append("    @java.lang.Override\n");
+        out.append("    public java.lang.String getTypeName() {\n");
+        out.append("        return typeName;\n");
+        out.append("    }\n\n");
+
+        out.append("    @java.lang.Override\n");
+        out.append("    public java.lang.Object beginInstance() {\n");
+        out.append("        return new ").append(target).append("();\n");
+        out.append("    }\n\n");
+
+        writeSet(out, target, simpleName, setters);
+        writeGetTypeHint(out, setters);
+
+        out.append("    @java.lang.Override\n");
+        out.append("    public java.lang.Object endInstance(java.lang.Object instance) {\n");
+        out.append("        return instance;\n");
+        out.append("    }\n\n");
+
+        out.append("    @java.lang.Override\n");
+        out.append("    public java.util.Set<java.lang.String> getKeys(java.lang.Object value) {\n");
+        out.append("        return KEYS;\n");
+        out.append("    }\n\n");
+
+        writeGetValue(out, target, getters);
+        writeGetKind(out, getters);
+        writeGetPrimitive(out, target, getters, "int", "Int");
+        writeGetPrimitive(out, target, getters, "long", "Long");
+        writeGetPrimitive(out, target, getters, "double", "Double");
+        writeGetPrimitive(out, target, getters, "boolean", "Boolean");
+
+        out.append("}\n");
+
+        return out.toString();
+    }
+
+    private static void writeSet(StringBuilder out, String target, String simpleName, List<CodecProperty> setters) {
+        out.append("    @java.lang.Override\n");
+        out.append("    public void set(java.lang.Object instance, java.lang.String key, java.lang.Object value) {\n");
+        out.append("        switch (key) {\n");
+        for (var i = 0; i < setters.size(); i++) {
+            out.append("            case ").append(literal(setters.get(i).getKey())).append(":\n");
+            out.append("                set").append(i).append("(instance, value);\n");
+            out.append("                return;\n");
+        }
+        out.append("            default:\n");
+        out.append("                throw new org.beat.errors.BeatException(\"not setter for ")
+                .append(escape(target)).append("[\" + key + \"]\");\n");
+        out.append("        }\n");
+        out.append("    }\n\n");
+
+        out.append("    @java.lang.Override\n");
+        out.append("    public org.beat.producers.PrimitiveObjectSlot findSlot(java.lang.CharSequence key, org.beat.producers.ObjectSlot previous) {\n");
+        out.append("        return SLOTS.find(key, previous);\n");
+        out.append("    }\n\n");
+
+        for (var i = 0; i < setters.size(); i++) {
+            var setter = setters.get(i);
+            var converted = "(" + setter.getValueType() + ")org.beat.util.ReflectUtils.convertTo(value, "
+                    + setter.getRawType() + ".class)";
+
+            out.append("    @java.lang.SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+            out.append("    private static void set").append(i).append("(java.lang.Object instance, java.lang.Object value) {\n");
+            out.append("        try {\n");
+            out.append("            ((").append(target).append(")instance).").append(setter.getMember());
+            if (setter.isMethod()) {
+                out.append("(").append(converted).append(");\n");
+            }
+            else {
+                out.append(" = ").append(converted).append(";\n");
+            }
+            out.append("        }\n");
+            out.append("        catch (org.beat.errors.ConversionException e) {\n");
+            out.append("            throw new org.beat.errors.BeatException(\"")
+                    .append(escape(simpleName + "[" + setter.getKey() + "]: ")).append("\" + e.getMessage(), e);\n");
+            out.append("        }\n");
+            out.append("    }\n\n");
+
+            if (primitiveKind(setter.getRawType()) != null) {
+                out.append("    private static void setUnboxed").append(i).append("(java.lang.Object instance, ")
+                        .append(setter.getRawType()).append(" value) {\n");
+                out.append("        ((").append(target).append(")instance).").append(setter.getMember());
+                out.append(setter.isMethod() ? "(value);\n" : " = value;\n");
+                out.append("    }\n\n");
+            }
+        }
+    }
+
+    private static void writeGetTypeHint(StringBuilder out, List<CodecProperty> setters) {
+        out.append("    @java.lang.Override\n");
+        out.append("    public java.lang.reflect.Type getTypeHint(java.lang.String key) {\n");
+        out.append("        switch (key) {\n");
+        for (var i = 0; i < setters.size(); i++) {
+            out.append("            case ").append(literal(setters.get(i).getKey())).append(":\n");
+            out.append("                return HINT_").append(i).append(";\n");
+        }
+        out.append("            default:\n");
+        out.append("                return null;\n");
+        out.append("        }\n");
+        out.append("    }\n\n");
+    }
+
+    private static void writeGetValue(StringBuilder out, String target, List<CodecProperty> getters) {
+        out.append("    @java.lang.Override\n");
+        out.append("    public java.lang.Object getValue(java.lang.Object value, java.lang.String key) {\n");
+        out.append("        ").append(target).append(" target = (").append(target).append(")value;\n\n");
+        out.append("        switch (key) {\n");
+        for (var getter : getters) {
+            out.append("            case ").append(literal(getter.getKey())).append(":\n");
+            if (getter.isMethod() && getter.getRawType().equals("void")) {
+                out.append("                target.").append(getter.getMember()).append("();\n");
+                out.append("                return null;\n");
+            }
+            else if (getter.isMethod()) {
+                out.append("                return target.").append(getter.getMember()).append("();\n");
+            }
+            else {
+                out.append("                return target.").append(getter.getMember()).append(";\n");
+            }
+        }
+        out.append("            default:\n");
+        out.append("                throw new org.beat.errors.BeatException(\"not getter for ")
+                .append(escape(target)).append("[\" + key + \"]\");\n");
+        out.append("        }\n");
+        out.append("    }\n");
+    }
+
+    private static void writeGetKind(StringBuilder out, List<CodecProperty> getters) {
+        out.append("\n");
+        out.append("    @java.lang.Override\n");
+        out.append("    public org.beat.examiners.PrimitiveKind getKind(java.lang.Object value, java.lang.String key) {\n");
+        out.append("        switch (key) {\n");
+        for (var getter : getters) {
+            var kind = primitiveKind(getter.getRawType());
+            if (kind != null) {
+                out.append("            case ").append(literal(getter.getKey())).append(":\n");
+                out.append("                return org.beat.examiners.PrimitiveKind.").append(kind).append(";\n");
+            }
+        }
+        out.append("            default:\n");
+        out.append("                return org.beat.examiners.PrimitiveKind.NONE;\n");
+        out.append("        }\n");
+        out.append("    }\n");
+    }
+
+    private static void writeGetPrimitive(StringBuilder out, String target, List<CodecProperty> getters, String type, String suffix) {
+        out.append("\n");
+        out.append("    @java.lang.Override\n");
+        out.append("    public ").append(type).append(" get").append(suffix)
+                .append("(java.lang.Object value, java.lang.String key) {\n");
+        out.append("        ").append(target).append(" target = (").append(target).append(")value;\n\n");
+        out.append("        switch (key) {\n");
+        for (var getter : getters) {
+            if (getter.getRawType().equals(type)) {
+                out.append("            case ").append(literal(getter.getKey())).append(":\n");
+                out.append("                return target.").append(getter.getMember())
+                        .append(getter.isMethod() ? "();\n" : ";\n");
+            }
+        }
+        out.append("            default:\n");
+        out.append("                throw new org.beat.errors.BeatException(\"not ").append(type).append(" getter for ")
+                .append(escape(target)).append("[\" + key + \"]\");\n");
+        out.append("        }\n");
+        out.append("    }\n");
+    }
+
+    private static String primitiveKind(String rawType) {
+        switch (rawType) {
+            case "int":
+            case "long":
+            case "double":
+            case "boolean":
+                return rawType.toUpperCase();
+            default:
+                return null;
+        }
+    }
+
+    private static String literal(String value) {
+        return "\"" + escape(value) + "\"";
+    }
+
+    private static String escape(String value) {
+        var result = new StringBuilder();
+
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+
+            if (c == '"' || c == '\\') {
+                result.append('\\').append(c);
+            }
+            else if (c < 0x20 || c > 0x7e) {
+                result.append(String.format("\\u%04x", (int)c));
+            }
+            else {
+                result.append(c);
+            }
+        }
+
+        return result.toString();
+    }
+}
@@ -0,0 +1,66 @@
+package org.beat.codecs.standard;
+
+import org.beat.codecs.ObjectCodec;
+import org.beat.errors.BeatException;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Optional;
+
+public class GeneratedCodecs {
+
+    public static final String SUFFIX = "_BeatCodec";
+
+    private GeneratedCodecs() {}
+
+    private static final ClassValue<Optional<Constructor<?>>> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Optional<Constructor<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(findConstructor(type));
+        }
+    };
+
+    // a.b.Outer$Inner is generated as a.b.Outer_Inner_BeatCodec
+    public static String codecName(String binaryName) {
+        return binaryName.replace('$', '_') + SUFFIX;
+    }
+
+    public static ObjectCodec find(Class<?> type, String typeName) {
+        var constructor = CONSTRUCTORS.get(type).orElse(null);
+
+        if (constructor == null) {
+            return null;
+        }
+
+        try {
+            return (ObjectCodec)constructor.newInstance(typeName);
+        }
+        catch (InstantiationException | IllegalAccessException e) {
+            throw new BeatException(e);
+        }
+        catch (InvocationTargetException e) {
+            throw new BeatException(e.getTargetException());
+        }
+    }
+
+    private static Constructor<?> findConstructor(Class<?> type) {
+        var loader = type.getClassLoader();
+
+        if (loader == null || type.isArray() || type.isPrimitive()) {
+            return null;
+        }
+
+        try {
+            var codecClass = Class.forName(codecName(type.getName()), true, loader);
+
+            if (!ObjectCodec.class.isAssignableFrom(codecClass)) {
+                return null;
+            }
+
+            return codecClass.getConstructor(String.class);
+        }
+        catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package org.beat.codecs.standard;
+
+import org.beat.codecs.ObjectCodec;
+import org.beat.errors.BeatException;
+import org.beat.util.ReflectUtils;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Compiles the same codec the annotation processor would generate, but at
+// runtime with the system Java compiler. Classes are compiled once per JVM.
+// The codec binds keys through its slot table, while values are still parsed
+// by TextDecoder using the primitive slots of the codec as type hints.
+public class RuntimeCodecs {
+
+    public static final String SUFFIX = "_BeatRuntimeCodec";
+
+    private RuntimeCodecs() {}
+
+    private static final boolean AVAILABLE = findCompiler();
+
+    private static final ClassValue<Optional<Constructor<?>>> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Optional<Constructor<?>> computeValue(Class<?> type) {
+            try {
+                return Optional.of(compileCodec(type));
+            }
+            catch (Exception | LinkageError e) {
+                return Optional.empty();
+            }
+        }
+    };
+
+    // False when the runtime has no system Java compiler, as in jlink images
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    public static boolean isSupported(Class<?> type) {
+        if (type.getClassLoader() == null
+                || type.getCanonicalName() == null
+                || Map.class.isAssignableFrom(type)
+                || !ReflectUtils.canInstantiate(type)
+                || !isCompilable(type)) {
+            return false;
+        }
+
+        for (var current = type; current != null; current = current.getDeclaringClass()) {
+            if (Modifier.isPrivate(current.getModifiers())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    // Returns null when the codec cannot be compiled for this class
+    public static Constructor<?> compile(Class<?> type) {
+        return CONSTRUCTORS.get(type).orElse(null);
+    }
+
+    public static ObjectCodec instantiate(Constructor<?> constructor, String typeName) {
+        try {
+            return (ObjectCodec)constructor.newInstance(typeName);
+        }
+        catch (InstantiationException | IllegalAccessException e) {
+            throw new BeatException(e);
+        }
+        catch (InvocationTargetException e) {
+            throw new BeatException(e.getTargetException());
+        }
+    }
+
+    public static CodecModel createModel(Class<?> type) {
+        var packageName = type.getPackageName();
+        var localName = packageName.isEmpty() ? type.getName() : type.getName().substring(packageName.length() + 1);
+        var model = new CodecModel(packageName, type.getCanonicalName(), localName.replace('$', '_') + SUFFIX);
+
+        // Same keys and order as ClassObjectProducer and ClassObjectExaminer
+        for (var field : type.getFields()) {
+            var property = property(field.getName(), field.getName(), false, field.getType(), field.getGenericType());
+
+            model.getter(property);
+
+            if (!Modifier.isFinal(field.getModifiers())) {
+                model.setter(property);
+            }
+        }
+
+        for (var method : type.getMethods()) {
+            if (method.isBridge()) {
+                continue;
+            }
+
+            var setterKey = parseSetterName(method);
+            var getterKey = parseGetterName(method);
+
+            if (setterKey != null) {
+                model.setter(property(setterKey, method.getName(), true,
+                        method.getParameterTypes()[0], method.getGenericParameterTypes()[0]));
+            }
+            else if (getterKey != null) {
+                model.getter(property(getterKey, method.getName(), true,
+                        method.getReturnType(), method.getGenericReturnType()));
+            }
+        }
+
+        return model;
+    }
+
+    private static Constructor<?> compileCodec(Class<?> type) throws ReflectiveOperationException {
+        var compiler = ToolProvider.getSystemJavaCompiler();
+
+        if (compiler == null || !isSupported(type)) {
+            throw new BeatException("Cannot compile codec for " + type.getName());
+        }
+
+        var model = createModel(type);
+        var className = model.getQualifiedCodecName();
+        var source = new SourceObject(className, CodecWriter.write(model));
+        var classes = new HashMap<String, ByteArrayOutputStream>();
+        var standardManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+        var fileManager = new ForwardingJavaFileManager<JavaFileManager>(standardManager) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location, String name, JavaFileObject.Kind kind, FileObject sibling) {
+                var bytes = new ByteArrayOutputStream();
+                classes.put(name, bytes);
+                return new SimpleJavaFileObject(URI.create("bytes:///" + name.replace('.', '/') + kind.extension), kind) {
+                    @Override
+                    public OutputStream openOutputStream() {
+                        return bytes;
+                    }
+                };
+            }
+        };
+        var options = List.of("-proc:none", "-nowarn", "-classpath", classPath(type));
+        var messages = new StringWriter();
+
+        if (!compiler.getTask(messages, fileManager, null, options, null, List.of(source)).call()) {
+            throw new BeatException("Cannot compile codec for " + type.getName() + ": " + messages);
+        }
+
+        var bytes = classes.get(className);
+
+        if (bytes == null) {
+            throw new BeatException("Missing compiled codec for " + type.getName());
+        }
+
+        var codecClass = MethodHandles.privateLookupIn(type, MethodHandles.lookup()).defineClass(bytes.toByteArray());
+
+        return codecClass.getConstructor(String.class);
+    }
+
+    private static boolean findCompiler() {
+        try {
+            return ToolProvider.getSystemJavaCompiler() != null;
+        }
+        catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    // The compiler only reads plain files, so classes from nested jars or
+    // custom loaders are left on the generic path.
+    private static boolean isCompilable(Class<?> type) {
+        try {
+            return Class.forName(ObjectCodec.class.getName(), false, type.getClassLoader()) == ObjectCodec.class
+                    && codeSource(type) != null
+                    && codeSource(ObjectCodec.class) != null;
+        }
+        catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static String classPath(Class<?> type) {
+        var entries = new LinkedHashSet<String>();
+
+        addCodeSource(entries, type);
+        addCodeSource(entries, ObjectCodec.class);
+        entries.addAll(Arrays.asList(System.getProperty("java.class.path", "").split(File.pathSeparator)));
+        entries.remove("");
+
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static void addCodeSource(LinkedHashSet<String> entries, Class<?> type) {
+        var path = codeSource(type);
+
+        if (path != null) {
+            entries.add(path);
+        }
+    }
+
+    private static String codeSource(Class<?> type) {
+        try {
+            var codeSource = type.getProtectionDomain().getCodeSource();
+
+            if (codeSource != null && codeSource.getLocation() != null) {
+                var path = Paths.get(codeSource.getLocation().toURI());
+
+                if (Files.exists(path)) {
+                    return path.toString();
+                }
+            }
+        }
+        catch (Exception e) {
+            // not a plain file
+        }
+        return null;
+    }
+
+    private static String parseSetterName(Method method) {
+        var name = method.getName();
+
+        if (name.startsWith("set") && name.length() > 3 && method.getParameterCount() == 1) {
+            return name.substring(3, 4).toLowerCase() + name.substring(4);
+        }
+        return null;
+    }
+
+    private static String parseGetterName(Method method) {
+        var name = method.getName();
+
+        if (method.getParameterCount() != 0) {
+            return null;
+        }
+        else if (name.startsWith("is") && name.length() > 2) {
+            return name.substring(2, 3).toLowerCase() + name.substring(3);
+        }
+        else if (name.startsWith("get") && name.length() > 3 && !name.equals("getClass")) {
+            return name.substring(3, 4).toLowerCase() + name.substring(4);
+        }
+        return null;
+    }
+
+    private static CodecProperty property(String key, String member, boolean method, Class<?> type, Type genericType) {
+        var rawType = sourceName(type);
+        var valueType = type.isPrimitive() ? sourceName(MethodType.methodType(type).wrap().returnType()) : rawType;
+
+        return new CodecProperty(key, member, method, valueType, rawType, typeHint(genericType));
+    }
+
+    private static String typeHint(Type type) {
+        if (type instanceof ParameterizedType) {
+            var parameterized = (ParameterizedType)type;
+            var arguments = parameterized.getActualTypeArguments();
+
+            if (!(parameterized.getOwnerType() instanceof ParameterizedType)
+                    && Arrays.stream(arguments).allMatch(RuntimeCodecs::isRepresentable)) {
+                var result = new StringBuilder("org.beat.util.Types.parameterized(");
+
+                result.append(sourceName(erasure(type))).append(".class");
+
+                for (var argument : arguments) {
+                    result.append(", ").append(typeHint(argument));
+                }
+
+                return result.append(")").toString();
+            }
+        }
+        return sourceName(erasure(type)) + ".class";
+    }
+
+    private static boolean isRepresentable(Type type) {
+        if (type instanceof ParameterizedType) {
+            var parameterized = (ParameterizedType)type;
+            return !(parameterized.getOwnerType() instanceof ParameterizedType)
+                    && Arrays.stream(parameterized.getActualTypeArguments()).allMatch(RuntimeCodecs::isRepresentable);
+        }
+        return type instanceof Class;
+    }
+
+    private static Class<?> erasure(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>)type;
+        }
+        else if (type instanceof ParameterizedType) {
+            return erasure(((ParameterizedType)type).getRawType());
+        }
+        else if (type instanceof GenericArrayType) {
+            return Array.newInstance(erasure(((GenericArrayType)type).getGenericComponentType()), 0).getClass();
+        }
+        else if (type instanceof TypeVariable) {
+            return erasure(((TypeVariable<?>)type).getBounds()[0]);
+        }
+        else if (type instanceof WildcardType) {
+            return erasure(((WildcardType)type).getUpperBounds()[0]);
+        }
+        return Object.class;
+    }
+
+    private static String sourceName(Class<?> type) {
+        var name = type.getCanonicalName();
+
+        if (name == null) {
+            throw new BeatException("Type has no source name: " + type.getName());
+        }
+
+        return name;
+    }
+
+    private static class SourceObject extends SimpleJavaFileObject {
+        private final String source;
+
+        private SourceObject(String className, String source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+}
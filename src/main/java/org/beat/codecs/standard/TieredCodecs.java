@@ -0,0 +1,239 @@
+package org.beat.codecs.standard;
+
+import org.beat.codecs.ObjectCodec;
+import org.beat.errors.BeatException;
+import org.beat.examiners.Examiner;
+import org.beat.examiners.PrimitiveKind;
+import org.beat.examiners.PrimitiveObjectExaminer;
+import org.beat.examiners.standard.object.ClassObjectExaminer;
+import org.beat.producers.ObjectProducer;
+import org.beat.producers.ObjectSlot;
+import org.beat.producers.PrimitiveObjectProducer;
+import org.beat.producers.PrimitiveObjectSlot;
+import org.beat.producers.standard.object.ClassObjectProducer;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Type;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Reflective producers and examiners start on the generic path and count how
+// many objects they decode and encode. Once a class reaches the threshold its
+// codec is compiled in the background, the generic path keeps serving the
+// class until the compiled codec is ready to replace it.
+public class TieredCodecs {
+
+    private static final Executor COMPILER = new ThreadPoolExecutor(
+            0, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                var thread = new Thread(runnable, "beat-codec-compiler");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final ClassValue<Tier> tiers;
+    private final Executor executor;
+    private final int threshold;
+
+    public TieredCodecs() {
+        this(0);
+    }
+
+    public TieredCodecs(int threshold) {
+        this(threshold, COMPILER);
+    }
+
+    // Zero disables the runtime compilation
+    public TieredCodecs(int threshold, Executor executor) {
+        if (threshold < 0) {
+            throw new BeatException("Threshold cannot be negative: " + threshold);
+        }
+        this.threshold = threshold;
+        this.executor = executor;
+        this.tiers = new ClassValue<>() {
+            @Override
+            protected Tier computeValue(Class<?> type) {
+                return new Tier(type);
+            }
+        };
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public ObjectProducer wrapProducer(Class<?> type, String typeName, ObjectProducer producer) {
+        if (threshold != 0 && producer instanceof ClassObjectProducer && RuntimeCodecs.isAvailable() && RuntimeCodecs.isSupported(type)) {
+            return new TieredObjectProducer(tiers.get(type), typeName, (PrimitiveObjectProducer)producer);
+        }
+        return producer;
+    }
+
+    public Examiner wrapExaminer(Class<?> type, Examiner examiner) {
+        if (threshold != 0 && examiner instanceof ClassObjectExaminer && RuntimeCodecs.isAvailable() && RuntimeCodecs.isSupported(type)) {
+            return new TieredObjectExaminer(tiers.get(type), (PrimitiveObjectExaminer)examiner);
+        }
+        return examiner;
+    }
+
+    public long getUseCount(Class<?> type) {
+        return tiers.get(type).uses.get();
+    }
+
+    public boolean isCompiled(Class<?> type) {
+        return tiers.get(type).constructor != null;
+    }
+
+    private class Tier {
+        final Class<?> type;
+        final AtomicLong uses;
+        final AtomicBoolean scheduled;
+        volatile Constructor<?> constructor;
+
+        Tier(Class<?> type) {
+            this.type = type;
+            this.uses = new AtomicLong();
+            this.scheduled = new AtomicBoolean();
+        }
+
+        // Returns the compiled codec once available. The use that reaches the
+        // threshold only schedules the compilation, so no caller waits for it.
+        ObjectCodec use(String typeName) {
+            var current = constructor;
+
+            if (current == null) {
+                if (!scheduled.get() && uses.incrementAndGet() >= threshold && scheduled.compareAndSet(false, true)) {
+                    try {
+                        executor.execute(this::compile);
+                    }
+                    catch (RejectedExecutionException e) {
+                        // stays on the generic path
+                    }
+                }
+                return null;
+            }
+
+            return RuntimeCodecs.instantiate(current, typeName);
+        }
+
+        void compile() {
+            constructor = RuntimeCodecs.compile(type);
+        }
+    }
+
+    private static class TieredObjectProducer implements PrimitiveObjectProducer {
+        private final Tier tier;
+        private final String typeName;
+        private final PrimitiveObjectProducer generic;
+        private volatile PrimitiveObjectProducer delegate;
+
+        TieredObjectProducer(Tier tier, String typeName, PrimitiveObjectProducer generic) {
+            this.tier = tier;
+            this.typeName = typeName;
+            this.generic = generic;
+            this.delegate = generic;
+        }
+
+        @Override
+        public Object beginInstance() {
+            var current = delegate;
+
+            if (current == generic) {
+                var codec = tier.use(typeName);
+
+                if (codec != null) {
+                    delegate = current = codec;
+                }
+            }
+
+            return current.beginInstance();
+        }
+
+        @Override
+        public void set(Object instance, String key, Object value) {
+            delegate.set(instance, key, value);
+        }
+
+        @Override
+        public Type getTypeHint(String key) {
+            return delegate.getTypeHint(key);
+        }
+
+        @Override
+        public PrimitiveObjectSlot findSlot(CharSequence key, ObjectSlot previous) {
+            return delegate.findSlot(key, previous);
+        }
+
+        @Override
+        public Object endInstance(Object instance) {
+            return delegate.endInstance(instance);
+        }
+    }
+
+    private static class TieredObjectExaminer implements PrimitiveObjectExaminer {
+        private final Tier tier;
+        private final PrimitiveObjectExaminer generic;
+        private volatile PrimitiveObjectExaminer delegate;
+
+        TieredObjectExaminer(Tier tier, PrimitiveObjectExaminer generic) {
+            this.tier = tier;
+            this.generic = generic;
+            this.delegate = generic;
+        }
+
+        @Override
+        public Set<String> getKeys(Object value) {
+            var current = delegate;
+
+            if (current == generic) {
+                var codec = tier.use(generic.getTypeName());
+
+                if (codec != null) {
+                    delegate = current = codec;
+                }
+            }
+
+            return current.getKeys(value);
+        }
+
+        @Override
+        public Object getValue(Object value, String key) {
+            return delegate.getValue(value, key);
+        }
+
+        @Override
+        public PrimitiveKind getKind(Object value, String key) {
+            return delegate.getKind(value, key);
+        }
+
+        @Override
+        public int getInt(Object value, String key) {
+            return delegate.getInt(value, key);
+        }
+
+        @Override
+        public long getLong(Object value, String key) {
+            return delegate.getLong(value, key);
+        }
+
+        @Override
+        public double getDouble(Object value, String key) {
+            return delegate.getDouble(value, key);
+        }
+
+        @Override
+        public boolean getBoolean(Object value, String key) {
+            return delegate.getBoolean(value, key);
+        }
+
+        @Override
+        public String getTypeName() {
+            return generic.getTypeName();
+        }
+    }
+}
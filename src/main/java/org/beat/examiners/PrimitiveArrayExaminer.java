@@ -0,0 +1,15 @@
+package org.beat.examiners;
+
+// Reads the items of primitive arrays without boxing, only the typed getter
+// of the reported kind is supported.
+public interface PrimitiveArrayExaminer extends ArrayExaminer {
+    PrimitiveKind getKind();
+
+    int getIntAt(int index, Object value);
+
+    long getLongAt(int index, Object value);
+
+    double getDoubleAt(int index, Object value);
+
+    boolean getBooleanAt(int index, Object value);
+}
@@ -0,0 +1,25 @@
+package org.beat.examiners;
+
+public enum PrimitiveKind {
+    NONE,
+    INT,
+    LONG,
+    DOUBLE,
+    BOOLEAN;
+
+    public static PrimitiveKind of(Class<?> type) {
+        if (type == int.class) {
+            return INT;
+        }
+        else if (type == long.class) {
+            return LONG;
+        }
+        else if (type == double.class) {
+            return DOUBLE;
+        }
+        else if (type == boolean.class) {
+            return BOOLEAN;
+        }
+        return NONE;
+    }
+}
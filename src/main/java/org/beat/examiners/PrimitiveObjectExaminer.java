@@ -0,0 +1,15 @@
+package org.beat.examiners;
+
+// Reads primitive attributes without boxing, the typed getters are only
+// called for keys whose kind matches.
+public interface PrimitiveObjectExaminer extends ObjectExaminer {
+    PrimitiveKind getKind(Object value, String key);
+
+    int getInt(Object value, String key);
+
+    long getLong(Object value, String key);
+
+    double getDouble(Object value, String key);
+
+    boolean getBoolean(Object value, String key);
+}
@@ -1,11 +1,15 @@
 package org.beat.examiners.standard;
 
+import org.beat.codecs.standard.GeneratedCodecs;
 import org.beat.errors.BeatException;
 import org.beat.examiners.Examiner;
 import org.beat.examiners.standard.array.ArrayInstanceExaminer;
 import org.beat.examiners.standard.array.ListExaminer;
+import org.beat.examiners.standard.array.ObjectArrayExaminer;
+import org.beat.examiners.standard.array.PrimitiveArrayInstanceExaminer;
 import org.beat.examiners.standard.object.ClassObjectExaminer;
 import org.beat.examiners.standard.object.MapExaminer;
+import org.beat.examiners.standard.value.BinaryExaminer;
 import org.beat.examiners.standard.value.ClassEnumExaminer;
 import org.beat.examiners.standard.value.DefaultTypedValueExaminer;
 import org.beat.examiners.standard.value.ValueIdentityExaminer;
@@ -14,6 +18,7 @@ import org.beat.types.DefaultTypedObject;
 import org.beat.types.DefaultTypedValue;
 import org.beat.types.DefaultValue;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,35 +28,50 @@ public class StandardExaminers {
     private StandardExaminers() {}
 
     public static Examiner create(Object value) {
-        if (value == null
-                || value instanceof String
-                || value instanceof Boolean
-                || value instanceof Number
-                || value instanceof Character) {
+        if (value == null) {
             return ValueIdentityExaminer.INSTANCE;
         }
         else if (value instanceof DefaultTypedObject) {
-            var typeName = ((DefaultTypedObject)value).getTypeName();
-            if (typeName == null) {
-                return MapExaminer.ANONYMOUS_INSTANCE;
-            }
-            return new MapExaminer(typeName);
+            return createTypedObject(((DefaultTypedObject)value).getTypeName());
         }
         else if (value instanceof DefaultTypedList) {
-            var typeName = ((DefaultTypedList)value).getTypeName();
-            if (typeName == null) {
-                return ListExaminer.ANONYMOUS_INSTANCE;
-            }
-            return new ListExaminer(typeName);
+            return createTypedList(((DefaultTypedList)value).getTypeName());
         }
         else if (value instanceof DefaultTypedValue) {
-            var typeName = ((DefaultTypedValue)value).getTypeName();
-            if (typeName == null) {
-                return ValueIdentityExaminer.INSTANCE;
-            }
-            return new DefaultTypedValueExaminer(typeName);
+            return createTypedValue(((DefaultTypedValue)value).getTypeName());
+        }
+        return create(value.getClass());
+    }
+
+    public static Examiner create(Class<?> typeClass) {
+        if (String.class == typeClass
+                || Boolean.class == typeClass
+                || Number.class.isAssignableFrom(typeClass)
+                || Character.class == typeClass) {
+            return ValueIdentityExaminer.INSTANCE;
+        }
+        return createFromType(typeClass, null);
+    }
+
+    public static Examiner createTypedObject(String typeName) {
+        if (typeName == null) {
+            return MapExaminer.ANONYMOUS_INSTANCE;
+        }
+        return new MapExaminer(typeName);
+    }
+
+    public static Examiner createTypedList(String typeName) {
+        if (typeName == null) {
+            return ListExaminer.ANONYMOUS_INSTANCE;
         }
-        return createFromType(value.getClass(), null);
+        return new ListExaminer(typeName);
+    }
+
+    public static Examiner createTypedValue(String typeName) {
+        if (typeName == null) {
+            return ValueIdentityExaminer.INSTANCE;
+        }
+        return new DefaultTypedValueExaminer(typeName);
     }
 
     private static Examiner createFromType(Class<?> typeClass, String typeName) {
@@ -65,6 +85,12 @@ public class StandardExaminers {
         if (Map.class.isAssignableFrom(typeClass)) {
             return MapExaminer.ANONYMOUS_INSTANCE;
         }
+
+        var codec = GeneratedCodecs.find(typeClass, typeName);
+
+        if (codec != null) {
+            return codec;
+        }
         return new ClassObjectExaminer(typeClass, typeName);
     }
 
@@ -82,6 +108,18 @@ public class StandardExaminers {
             return Optional.of(ListExaminer.ANONYMOUS_INSTANCE);
         }
         else if (typeClass.isArray()) {
+            var componentType = typeClass.getComponentType();
+
+            if (!componentType.isPrimitive()) {
+                return Optional.of(ObjectArrayExaminer.ANONYMOUS_INSTANCE);
+            }
+
+            var primitive = PrimitiveArrayInstanceExaminer.create(componentType, null);
+
+            if (primitive != null) {
+                return Optional.of(primitive);
+            }
+
             return Optional.of(ArrayInstanceExaminer.ANONYMOUS_INSTANCE);
         }
         return Optional.empty();
@@ -95,6 +133,9 @@ public class StandardExaminers {
         else if (typeClass.isEnum()) {
             return Optional.of(new ClassEnumExaminer(typeClass, typeName));
         }
+        else if (typeClass == byte[].class || ByteBuffer.class.isAssignableFrom(typeClass)) {
+            return Optional.of(typeName == null ? BinaryExaminer.ANONYMOUS_INSTANCE : new BinaryExaminer(typeName));
+        }
         return Optional.empty();
     }
 }
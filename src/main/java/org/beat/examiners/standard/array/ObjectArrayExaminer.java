@@ -0,0 +1,29 @@
+package org.beat.examiners.standard.array;
+
+import org.beat.examiners.ArrayExaminer;
+
+public class ObjectArrayExaminer implements ArrayExaminer {
+
+    public static final ObjectArrayExaminer ANONYMOUS_INSTANCE = new ObjectArrayExaminer(null);
+
+    private final String typeName;
+
+    public ObjectArrayExaminer(String typeName) {
+        this.typeName = typeName;
+    }
+
+    @Override
+    public int getSizeOf(Object value) {
+        return ((Object[])value).length;
+    }
+
+    @Override
+    public Object getValueAt(int index, Object value) {
+        return ((Object[])value)[index];
+    }
+
+    @Override
+    public String getTypeName() {
+        return typeName;
+    }
+}
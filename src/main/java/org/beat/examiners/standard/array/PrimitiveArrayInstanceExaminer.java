@@ -0,0 +1,163 @@
+package org.beat.examiners.standard.array;
+
+import org.beat.errors.BeatException;
+import org.beat.examiners.PrimitiveArrayExaminer;
+import org.beat.examiners.PrimitiveKind;
+
+public abstract class PrimitiveArrayInstanceExaminer implements PrimitiveArrayExaminer {
+
+    private final String typeName;
+
+    protected PrimitiveArrayInstanceExaminer(String typeName) {
+        this.typeName = typeName;
+    }
+
+    public static PrimitiveArrayInstanceExaminer create(Class<?> componentType, String typeName) {
+        if (componentType == int.class) {
+            return new IntArrayExaminer(typeName);
+        }
+        else if (componentType == long.class) {
+            return new LongArrayExaminer(typeName);
+        }
+        else if (componentType == double.class) {
+            return new DoubleArrayExaminer(typeName);
+        }
+        else if (componentType == boolean.class) {
+            return new BooleanArrayExaminer(typeName);
+        }
+        return null;
+    }
+
+    @Override
+    public int getIntAt(int index, Object value) {
+        throw unsupported(PrimitiveKind.INT);
+    }
+
+    @Override
+    public long getLongAt(int index, Object value) {
+        throw unsupported(PrimitiveKind.LONG);
+    }
+
+    @Override
+    public double getDoubleAt(int index, Object value) {
+        throw unsupported(PrimitiveKind.DOUBLE);
+    }
+
+    @Override
+    public boolean getBooleanAt(int index, Object value) {
+        throw unsupported(PrimitiveKind.BOOLEAN);
+    }
+
+    @Override
+    public String getTypeName() {
+        return typeName;
+    }
+
+    private BeatException unsupported(PrimitiveKind kind) {
+        return new BeatException("not " + kind.name().toLowerCase() + " items in " + getKind().name().toLowerCase() + " array");
+    }
+
+    private static class IntArrayExaminer extends PrimitiveArrayInstanceExaminer {
+        IntArrayExaminer(String typeName) {
+            super(typeName);
+        }
+
+        @Override
+        public PrimitiveKind getKind() {
+            return PrimitiveKind.INT;
+        }
+
+        @Override
+        public int getSizeOf(Object value) {
+            return ((int[])value).length;
+        }
+
+        @Override
+        public Object getValueAt(int index, Object value) {
+            return ((int[])value)[index];
+        }
+
+        @Override
+        public int getIntAt(int index, Object value) {
+            return ((int[])value)[index];
+        }
+    }
+
+    private static class LongArrayExaminer extends PrimitiveArrayInstanceExaminer {
+        LongArrayExaminer(String typeName) {
+            super(typeName);
+        }
+
+        @Override
+        public PrimitiveKind getKind() {
+            return PrimitiveKind.LONG;
+        }
+
+        @Override
+        public int getSizeOf(Object value) {
+            return ((long[])value).length;
+        }
+
+        @Override
+        public Object getValueAt(int index, Object value) {
+            return ((long[])value)[index];
+        }
+
+        @Override
+        public long getLongAt(int index, Object value) {
+            return ((long[])value)[index];
+        }
+    }
+
+    private static class DoubleArrayExaminer extends PrimitiveArrayInstanceExaminer {
+        DoubleArrayExaminer(String typeName) {
+            super(typeName);
+        }
+
+        @Override
+        public PrimitiveKind getKind() {
+            return PrimitiveKind.DOUBLE;
+        }
+
+        @Override
+        public int getSizeOf(Object value) {
+            return ((double[])value).length;
+        }
+
+        @Override
+        public Object getValueAt(int index, Object value) {
+            return ((double[])value)[index];
+        }
+
+        @Override
+        public double getDoubleAt(int index, Object value) {
+            return ((double[])value)[index];
+        }
+    }
+
+    private static class BooleanArrayExaminer extends PrimitiveArrayInstanceExaminer {
+        BooleanArrayExaminer(String typeName) {
+            super(typeName);
+        }
+
+        @Override
+        public PrimitiveKind getKind() {
+            return PrimitiveKind.BOOLEAN;
+        }
+
+        @Override
+        public int getSizeOf(Object value) {
+            return ((boolean[])value).length;
+        }
+
+        @Override
+        public Object getValueAt(int index, Object value) {
+            return ((boolean[])value)[index];
+        }
+
+        @Override
+        public boolean getBooleanAt(int index, Object value) {
+            return ((boolean[])value)[index];
+        }
+    }
+}
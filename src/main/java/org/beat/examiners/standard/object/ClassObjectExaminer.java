@@ -1,18 +1,27 @@
 package org.beat.examiners.standard.object;
 
 import org.beat.errors.BeatException;
-import org.beat.examiners.ObjectExaminer;
+import org.beat.examiners.PrimitiveKind;
+import org.beat.examiners.PrimitiveObjectExaminer;
+import org.beat.util.Accessors;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
-public class ClassObjectExaminer implements ObjectExaminer {
+public class ClassObjectExaminer implements PrimitiveObjectExaminer {
 
     private final Map<String, Function<Object, Object>> attributes;
+    private final Map<String, PrimitiveAttribute> primitives;
+    private final String className;
     private final String typeName;
 
     public ClassObjectExaminer(Class<?> type) {
@@ -21,6 +30,8 @@ public class ClassObjectExaminer implements ObjectExaminer {
 
     public ClassObjectExaminer(Class<?> type, String typeName) {
         this.attributes = generateAttributes(type);
+        this.primitives = generatePrimitives(type);
+        this.className = type.getName();
         this.typeName = typeName;
     }
 
@@ -30,36 +41,48 @@ public class ClassObjectExaminer implements ObjectExaminer {
         for (var field : type.getFields()) {
             var name = field.getName();
 
-            result.put(name, instance -> {
-                try {
-                    return field.get(instance);
-                }
-                catch (IllegalAccessException e) {
-                    throw new BeatException(e);
-                }
-            });
+            result.put(name, Accessors.getter(field));
         }
 
         for (var method : type.getMethods()) {
             var name = parseGetterName(method);
             if (name != null) {
-                result.put(name, instance -> {
-                    try {
-                        return method.invoke(instance);
-                    }
-                    catch (IllegalAccessException e) {
-                        throw new BeatException(e);
-                    }
-                    catch (InvocationTargetException e) {
-                        throw new BeatException(e.getTargetException());
-                    }
-                });
+                result.put(name, Accessors.getter(method));
             }
         }
 
         return result;
     }
 
+    // Follows the same order as generateAttributes so the last member of a name wins
+    private static Map<String, PrimitiveAttribute> generatePrimitives(Class<?> type) {
+        var result = new HashMap<String, PrimitiveAttribute>();
+
+        for (var field : type.getFields()) {
+            putPrimitive(result, field.getName(), field, field.getType());
+        }
+
+        for (var method : type.getMethods()) {
+            var name = parseGetterName(method);
+            if (name != null) {
+                putPrimitive(result, name, method, method.getReturnType());
+            }
+        }
+
+        return result;
+    }
+
+    private static void putPrimitive(Map<String, PrimitiveAttribute> primitives, String name, Member member, Class<?> type) {
+        var kind = PrimitiveKind.of(type);
+
+        if (kind == PrimitiveKind.NONE) {
+            primitives.remove(name);
+        }
+        else {
+            primitives.put(name, new PrimitiveAttribute(kind, member));
+        }
+    }
+
     private static String parseGetterName(Method method) {
         if (method.getParameterCount() == 0) {
             var name = method.getName();
@@ -81,11 +104,98 @@ public class ClassObjectExaminer implements ObjectExaminer {
 
     @Override
     public Object getValue(Object value, String key) {
-        return attributes.get(key).apply(value);
+        var attribute = attributes.get(key);
+
+        try {
+            return attribute.apply(value);
+        }
+        catch (Exception e) {
+            throw Accessors.wrap(e);
+        }
+    }
+
+    @Override
+    public PrimitiveKind getKind(Object value, String key) {
+        var primitive = primitives.get(key);
+
+        return primitive != null ? primitive.kind : PrimitiveKind.NONE;
+    }
+
+    @Override
+    public int getInt(Object value, String key) {
+        var getter = getPrimitive(key, PrimitiveKind.INT).ints;
+
+        try {
+            return getter.applyAsInt(value);
+        }
+        catch (Exception e) {
+            throw Accessors.wrap(e);
+        }
+    }
+
+    @Override
+    public long getLong(Object value, String key) {
+        var getter = getPrimitive(key, PrimitiveKind.LONG).longs;
+
+        try {
+            return getter.applyAsLong(value);
+        }
+        catch (Exception e) {
+            throw Accessors.wrap(e);
+        }
+    }
+
+    @Override
+    public double getDouble(Object value, String key) {
+        var getter = getPrimitive(key, PrimitiveKind.DOUBLE).doubles;
+
+        try {
+            return getter.applyAsDouble(value);
+        }
+        catch (Exception e) {
+            throw Accessors.wrap(e);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(Object value, String key) {
+        var getter = getPrimitive(key, PrimitiveKind.BOOLEAN).booleans;
+
+        try {
+            return getter.test(value);
+        }
+        catch (Exception e) {
+            throw Accessors.wrap(e);
+        }
+    }
+
+    private PrimitiveAttribute getPrimitive(String key, PrimitiveKind kind) {
+        var primitive = primitives.get(key);
+
+        if (primitive == null || primitive.kind != kind) {
+            throw new BeatException("not " + kind.name().toLowerCase() + " getter for " + className + "[" + key + "]");
+        }
+
+        return primitive;
     }
 
     @Override
     public String getTypeName() {
         return typeName;
     }
+
+    private static class PrimitiveAttribute {
+        final PrimitiveKind kind;
+        final ToIntFunction<Object> ints;
+        final ToLongFunction<Object> longs;
+        final ToDoubleFunction<Object> doubles;
+        final Predicate<Object> booleans;
+        private PrimitiveAttribute(PrimitiveKind kind, Member member) {
+            this.kind = kind;
+            this.ints = kind == PrimitiveKind.INT ? Accessors.intGetter(member) : null;
+            this.longs = kind == PrimitiveKind.LONG ? Accessors.longGetter(member) : null;
+            this.doubles = kind == PrimitiveKind.DOUBLE ? Accessors.doubleGetter(member) : null;
+            this.booleans = kind == PrimitiveKind.BOOLEAN ? Accessors.booleanGetter(member) : null;
+        }
+    }
 }
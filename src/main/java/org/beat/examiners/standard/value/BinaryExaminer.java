@@ -0,0 +1,25 @@
+package org.beat.examiners.standard.value;
+
+import org.beat.examiners.ValueExaminer;
+
+// The argument is the byte[] or ByteBuffer itself, the encoder writes it as a base64 string
+public class BinaryExaminer implements ValueExaminer {
+
+    public static final BinaryExaminer ANONYMOUS_INSTANCE = new BinaryExaminer(null);
+
+    private final String type;
+
+    public BinaryExaminer(String type) {
+        this.type = type;
+    }
+
+    @Override
+    public String getTypeName() {
+        return type;
+    }
+
+    @Override
+    public Object extractArgument(Object value) {
+        return value;
+    }
+}
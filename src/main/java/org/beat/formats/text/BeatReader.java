@@ -0,0 +1,433 @@
+package org.beat.formats.text;
+
+import org.beat.errors.BeatException;
+import org.beat.errors.ConversionException;
+import org.beat.errors.InvalidSyntaxException;
+import org.beat.io.CharInput;
+import org.beat.io.TextLocation;
+import org.beat.io.standard.ArrayInput;
+import org.beat.io.standard.ReaderInput;
+import org.beat.util.Numbers;
+
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static org.beat.formats.text.TextDecoder.TOKEN_CHAR;
+import static org.beat.formats.text.TextDecoder.continueString;
+import static org.beat.formats.text.TextDecoder.isStringDelimiter;
+import static org.beat.formats.text.TextDecoder.isTokenChar;
+import static org.beat.formats.text.TextDecoder.skipWhitespace;
+
+// Pulls one token at a time, the text of keys, type names, references and
+// scalars is kept in a reused buffer until the next token is read.
+public class BeatReader {
+
+    private static final int EXPECT_VALUE = 0;
+    private static final int AFTER_TYPE_NAME = 1;
+    private static final int AFTER_REFERENCE = 2;
+    private static final int AFTER_TYPED_REFERENCE = 3;
+    private static final int EXPECT_ELEMENT = 4;
+    private static final int AFTER_ELEMENT = 5;
+    private static final int DONE = 6;
+
+    private final CharInput input;
+    private final StringBuilder text;
+
+    // Closing chars of the open structures
+    private char[] closers;
+    private int depth;
+    private int state;
+
+    private BeatToken token;
+    private boolean quoted;
+
+    public BeatReader(CharSequence text) {
+        this(TextDecoder.createInput(text));
+    }
+
+    public BeatReader(char[] text) {
+        this(new ArrayInput(text));
+    }
+
+    public BeatReader(Reader reader) {
+        this(new ReaderInput(reader));
+    }
+
+    public BeatReader(CharInput input) {
+        this.input = Objects.requireNonNull(input);
+        this.text = new StringBuilder();
+        this.closers = new char[16];
+        this.state = EXPECT_VALUE;
+    }
+
+    public BeatToken nextToken() {
+        token = readToken();
+        return token;
+    }
+
+    public BeatToken getToken() {
+        return token;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public TextLocation getLocation() {
+        return input.getLocation();
+    }
+
+    // Skips the structure that was just opened, or the one named by the
+    // current type name, leaving END_* as the current token.
+    public void skipChildren() {
+        if (token == BeatToken.TYPE_NAME) {
+            while (!nextToken().isBegin()) {
+                if (token != BeatToken.REFERENCE) {
+                    throw new BeatException("Expected a structure after the type name.");
+                }
+            }
+        }
+        else if (token == null || !token.isBegin()) {
+            return;
+        }
+
+        var level = 1;
+
+        while (level > 0) {
+            var next = nextToken();
+
+            if (next.isBegin()) {
+                level++;
+            }
+            else if (next.isEnd()) {
+                level--;
+            }
+            else if (next == BeatToken.END_DOCUMENT) {
+                throw new InvalidSyntaxException("Unexpected end of document.", input.getLocation());
+            }
+        }
+    }
+
+    public CharSequence getText() {
+        requireText();
+        return text;
+    }
+
+    public boolean textEquals(CharSequence value) {
+        requireText();
+
+        if (text.length() != value.length()) {
+            return false;
+        }
+
+        for (var i = 0; i < text.length(); i++) {
+            if (text.charAt(i) != value.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public String getKey() {
+        require(BeatToken.KEY);
+        return text.toString();
+    }
+
+    public String getTypeName() {
+        require(BeatToken.TYPE_NAME);
+        return text.toString();
+    }
+
+    public String getReference() {
+        require(BeatToken.REFERENCE);
+        return text.toString();
+    }
+
+    public String getString() {
+        require(BeatToken.SCALAR);
+        return text.toString();
+    }
+
+    public boolean isQuoted() {
+        require(BeatToken.SCALAR);
+        return quoted;
+    }
+
+    public boolean isNull() {
+        return token == BeatToken.SCALAR && !quoted && textEquals("null");
+    }
+
+    public boolean getBoolean() {
+        require(BeatToken.SCALAR);
+
+        if (!quoted && textEquals("true")) {
+            return true;
+        }
+        else if (!quoted && textEquals("false")) {
+            return false;
+        }
+
+        throw new ConversionException("Expected a boolean instead of " + text + ".");
+    }
+
+    public int getInt() {
+        requireInteger();
+        return Numbers.parseInt(text);
+    }
+
+    public long getLong() {
+        requireInteger();
+        return Numbers.parseLong(text);
+    }
+
+    public double getDouble() {
+        require(BeatToken.SCALAR);
+
+        if (quoted || !(Numbers.isInteger(text) || Numbers.isDecimal(text))) {
+            throw new ConversionException("Expected a number instead of " + text + ".");
+        }
+
+        return Numbers.parseDouble(text);
+    }
+
+    // PRIVATE
+
+    private BeatToken readToken() {
+        switch (state) {
+            case EXPECT_VALUE:
+                return readValue();
+            case AFTER_TYPE_NAME:
+                return readAfterTypeName();
+            case AFTER_REFERENCE:
+                return readAfterReference(false);
+            case AFTER_TYPED_REFERENCE:
+                return readAfterReference(true);
+            case EXPECT_ELEMENT:
+                return readElement();
+            case AFTER_ELEMENT:
+                return readAfterElement();
+            default:
+                return BeatToken.END_DOCUMENT;
+        }
+    }
+
+    private BeatToken readValue() {
+        skipWhitespace(input);
+
+        var c = input.peek();
+
+        if (c == '{' || c == '[' || c == '(') {
+            return begin();
+        }
+        else if (c == '<') {
+            readReference();
+            state = AFTER_REFERENCE;
+            return BeatToken.REFERENCE;
+        }
+
+        text.setLength(0);
+
+        if (isTokenChar(c)) {
+            input.pullWhile(TOKEN_CHAR, text);
+            quoted = false;
+        }
+        else if (isStringDelimiter(c)) {
+            continueString(input, text);
+            quoted = true;
+        }
+        else {
+            throw new InvalidSyntaxException("Expected to read a value.", input.getLocation());
+        }
+
+        // A string can still be the type name of what follows
+        skipWhitespace(input);
+
+        c = input.peek();
+
+        if (c == '{' || c == '[' || c == '(' || c == '<') {
+            state = AFTER_TYPE_NAME;
+            return BeatToken.TYPE_NAME;
+        }
+
+        return completeValue(BeatToken.SCALAR);
+    }
+
+    private BeatToken readAfterTypeName() {
+        if (input.peek() == '<') {
+            readReference();
+            state = AFTER_TYPED_REFERENCE;
+            return BeatToken.REFERENCE;
+        }
+
+        return begin();
+    }
+
+    private BeatToken readAfterReference(boolean typed) {
+        skipWhitespace(input);
+
+        var c = input.peek();
+
+        if (c == '{' || c == '[' || c == '(') {
+            return begin();
+        }
+        else if (typed) {
+            throw new InvalidSyntaxException("Expected value for reference <" + text + ">.", input.getLocation());
+        }
+
+        // If there is no type name, it can be just a reference
+        state = AFTER_ELEMENT;
+        return readAfterElement();
+    }
+
+    private BeatToken readElement() {
+        skipWhitespace(input);
+
+        var closer = closers[depth - 1];
+
+        if (input.peek(closer)) {
+            return end();
+        }
+        else if (closer != '}') {
+            return readValue();
+        }
+
+        var c = input.peek();
+
+        text.setLength(0);
+
+        if (isTokenChar(c)) {
+            input.pullWhile(TOKEN_CHAR, text);
+        }
+        else if (isStringDelimiter(c)) {
+            continueString(input, text);
+        }
+        else {
+            input.expect('}');
+        }
+
+        skipWhitespace(input);
+
+        input.expect(':');
+
+        state = EXPECT_VALUE;
+        return BeatToken.KEY;
+    }
+
+    private BeatToken readAfterElement() {
+        if (depth == 0) {
+            state = DONE;
+            return BeatToken.END_DOCUMENT;
+        }
+
+        skipWhitespace(input);
+
+        if (input.tryPull(',')) {
+            state = EXPECT_ELEMENT;
+            return readElement();
+        }
+
+        var closer = closers[depth - 1];
+
+        if (!input.peek(closer)) {
+            input.expect(closer);
+        }
+
+        return end();
+    }
+
+    private BeatToken begin() {
+        var c = input.pull();
+        BeatToken begin;
+        char closer;
+
+        if (c == '{') {
+            begin = BeatToken.BEGIN_OBJECT;
+            closer = '}';
+        }
+        else if (c == '[') {
+            begin = BeatToken.BEGIN_ARRAY;
+            closer = ']';
+        }
+        else if (c == '(') {
+            begin = BeatToken.BEGIN_VALUE;
+            closer = ')';
+        }
+        else {
+            throw new InvalidSyntaxException("Expected a structure after " + text + ".", input.getLocation());
+        }
+
+        if (depth == closers.length) {
+            closers = Arrays.copyOf(closers, depth * 2);
+        }
+
+        closers[depth++] = closer;
+        state = EXPECT_ELEMENT;
+        return begin;
+    }
+
+    // The closer must be the next char
+    private BeatToken end() {
+        var closer = closers[--depth];
+
+        input.pull();
+
+        if (closer == '}') {
+            return completeValue(BeatToken.END_OBJECT);
+        }
+        else if (closer == ']') {
+            return completeValue(BeatToken.END_ARRAY);
+        }
+        return completeValue(BeatToken.END_VALUE);
+    }
+
+    private BeatToken completeValue(BeatToken result) {
+        state = AFTER_ELEMENT;
+        return result;
+    }
+
+    private void readReference() {
+        input.expect('<');
+
+        text.setLength(0);
+
+        var c = input.peek();
+
+        if (isTokenChar(c)) {
+            input.pullWhile(TOKEN_CHAR, text);
+        }
+        else if (isStringDelimiter(c)) {
+            continueString(input, text);
+        }
+        else {
+            throw new InvalidSyntaxException("Expected a reference key.", input.getLocation());
+        }
+
+        skipWhitespace(input);
+
+        input.expect('>');
+    }
+
+    private void require(BeatToken expected) {
+        if (token != expected) {
+            throw new BeatException("Current token is " + token + " instead of " + expected + ".");
+        }
+    }
+
+    private void requireText() {
+        if (token != BeatToken.KEY && token != BeatToken.TYPE_NAME
+                && token != BeatToken.REFERENCE && token != BeatToken.SCALAR) {
+            throw new BeatException("Current token " + token + " has no text.");
+        }
+    }
+
+    private void requireInteger() {
+        require(BeatToken.SCALAR);
+
+        if (quoted || !Numbers.isInteger(text)) {
+            throw new ConversionException("Expected an integer instead of " + text + ".");
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package org.beat.formats.text;
+
+public enum BeatToken {
+    BEGIN_OBJECT,
+    END_OBJECT,
+    BEGIN_ARRAY,
+    END_ARRAY,
+    BEGIN_VALUE,
+    END_VALUE,
+    KEY,
+    TYPE_NAME,
+    REFERENCE,
+    SCALAR,
+    END_DOCUMENT;
+
+    public boolean isBegin() {
+        return this == BEGIN_OBJECT || this == BEGIN_ARRAY || this == BEGIN_VALUE;
+    }
+
+    public boolean isEnd() {
+        return this == END_OBJECT || this == END_ARRAY || this == END_VALUE;
+    }
+}
@@ -0,0 +1,35 @@
+package org.beat.formats.text;
+
+// Text arguments are views over buffers of the parser, they are only valid
+// during the call and must be copied to be kept.
+public interface BeatVisitor {
+
+    default void onObjectStart(CharSequence typeName, CharSequence reference) {}
+
+    default void onObjectEnd() {}
+
+    default void onArrayStart(CharSequence typeName, CharSequence reference) {}
+
+    default void onArrayEnd() {}
+
+    default void onValueStart(CharSequence typeName, CharSequence reference) {}
+
+    default void onValueEnd() {}
+
+    default void onKey(CharSequence key) {}
+
+    // A reference to a value defined before
+    default void onReference(CharSequence reference) {}
+
+    default void onNull() {}
+
+    default void onScalar(boolean value) {}
+
+    default void onScalar(long value) {}
+
+    default void onScalar(double value) {}
+
+    // Strings, other tokens and integers that do not fit in a long
+    default void onScalar(CharSequence text) {}
+
+}
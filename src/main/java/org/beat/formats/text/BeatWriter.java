@@ -0,0 +1,259 @@
+package org.beat.formats.text;
+
+import org.beat.errors.BeatException;
+import org.beat.io.CharOutput;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static org.beat.formats.text.TextEncoder.writeBinary;
+import static org.beat.formats.text.TextEncoder.writeNumber;
+import static org.beat.formats.text.TextEncoder.writeReference;
+import static org.beat.formats.text.TextEncoder.writeString;
+
+// Writes a document one call at a time with the same layout as TextEncoder,
+// the output decides whether spaces, lines and indentation are printed.
+public class BeatWriter {
+
+    private final CharOutput output;
+    private final TextEncoder encoder;
+
+    // Closing chars and written entries of the open structures, the first
+    // position counts the top level documents.
+    private char[] closers;
+    private int[] counts;
+    private int depth;
+
+    private boolean keyWritten;
+
+    public BeatWriter(CharOutput output) {
+        this(output, null);
+    }
+
+    public BeatWriter(CharOutput output, TextEncoder encoder) {
+        this.output = Objects.requireNonNull(output);
+        this.encoder = (encoder != null ? encoder : new TextEncoder());
+        this.closers = new char[16];
+        this.counts = new int[16];
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public BeatWriter beginObject() {
+        return begin(null, null, '{', '}');
+    }
+
+    public BeatWriter beginObject(String typeName) {
+        return begin(typeName, null, '{', '}');
+    }
+
+    public BeatWriter beginObject(String typeName, String reference) {
+        return begin(typeName, reference, '{', '}');
+    }
+
+    public BeatWriter beginArray() {
+        return begin(null, null, '[', ']');
+    }
+
+    public BeatWriter beginArray(String typeName) {
+        return begin(typeName, null, '[', ']');
+    }
+
+    public BeatWriter beginArray(String typeName, String reference) {
+        return begin(typeName, reference, '[', ']');
+    }
+
+    public BeatWriter beginValue(String typeName) {
+        return begin(typeName, null, '(', ')');
+    }
+
+    public BeatWriter beginValue(String typeName, String reference) {
+        return begin(typeName, reference, '(', ')');
+    }
+
+    public BeatWriter key(String key) {
+        Objects.requireNonNull(key);
+
+        if (depth == 0 || closers[depth - 1] != '}') {
+            throw new BeatException("Keys can only be written inside an object.");
+        }
+        else if (keyWritten) {
+            throw new BeatException("Expected a value for the previous key.");
+        }
+
+        writeSeparator();
+        writeString(output, key);
+        output.write(':');
+        output.space();
+
+        keyWritten = true;
+        return this;
+    }
+
+    public BeatWriter end() {
+        if (depth == 0) {
+            throw new BeatException("There is no structure to end.");
+        }
+        else if (keyWritten) {
+            throw new BeatException("Expected a value for the previous key.");
+        }
+
+        depth--;
+
+        var closer = closers[depth];
+
+        if (closer != ')' && counts[depth + 1] > 0) {
+            output.indent(-1);
+            output.line();
+        }
+
+        output.write(closer);
+        return this;
+    }
+
+    public BeatWriter reference(String reference) {
+        Objects.requireNonNull(reference);
+        beforeValue();
+        writeReference(output, reference);
+        return this;
+    }
+
+    public BeatWriter nullValue() {
+        beforeValue();
+        output.write("null");
+        return this;
+    }
+
+    public BeatWriter value(boolean value) {
+        beforeValue();
+        output.write(value ? "true" : "false");
+        return this;
+    }
+
+    public BeatWriter value(long value) {
+        beforeValue();
+        output.writeLong(value);
+        return this;
+    }
+
+    public BeatWriter value(double value) {
+        beforeValue();
+        output.writeDouble(value);
+        return this;
+    }
+
+    public BeatWriter value(Number value) {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeNumber(value, output);
+        return this;
+    }
+
+    public BeatWriter value(String value) {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeString(output, value);
+        return this;
+    }
+
+    public BeatWriter value(byte[] value) {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeBinary(value, output, false);
+        return this;
+    }
+
+    public BeatWriter value(ByteBuffer value) {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeBinary(value, output, false);
+        return this;
+    }
+
+    // Complete values are written by the encoder in the current position
+    public BeatWriter encode(Object value) {
+        beforeValue();
+        encoder.write(value, output);
+        return this;
+    }
+
+    // PRIVATE
+
+    private BeatWriter begin(String typeName, String reference, char opener, char closer) {
+        beforeValue();
+
+        if (typeName != null) {
+            writeString(output, typeName);
+        }
+
+        if (reference != null) {
+            writeReference(output, reference);
+        }
+
+        if (typeName != null || reference != null) {
+            output.space();
+        }
+
+        output.write(opener);
+
+        if (depth + 1 == closers.length) {
+            closers = Arrays.copyOf(closers, closers.length * 2);
+            counts = Arrays.copyOf(counts, counts.length * 2);
+        }
+
+        closers[depth] = closer;
+        depth++;
+        counts[depth] = 0;
+        return this;
+    }
+
+    private void beforeValue() {
+        if (depth > 0 && closers[depth - 1] == '}') {
+            if (!keyWritten) {
+                throw new BeatException("Expected a key before the value.");
+            }
+            keyWritten = false;
+        }
+        else {
+            writeSeparator();
+        }
+    }
+
+    private void writeSeparator() {
+        var count = counts[depth]++;
+
+        if (depth == 0) {
+            // Consecutive documents always start on their own line, even
+            // when the output is compact
+            if (count > 0) {
+                output.write('\n');
+            }
+        }
+        else if (closers[depth - 1] == ')') {
+            if (count > 0) {
+                output.write(',');
+                output.space();
+            }
+        }
+        else if (count > 0) {
+            output.write(',');
+            output.line();
+        }
+        else {
+            output.indent(+1);
+            output.line();
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package org.beat.formats.text;
+
+import org.beat.errors.BeatException;
+import org.beat.io.CharInput;
+import org.beat.references.impl.ScopedReferenceTracker;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import static org.beat.formats.text.TextDecoder.skipWhitespace;
+
+// Reads consecutive top-level documents with the same decoder, documents
+// are only separated by whitespace.
+public class DocumentReader<T> implements Iterator<T>, Closeable {
+
+    private final TextDecoder decoder;
+    private final CharInput input;
+    private final Class<T> typeClass;
+    private final ScopedReferenceTracker scope;
+
+    // When there is a scope, references are forgotten after each document
+    public DocumentReader(TextDecoder decoder, CharInput input, Class<T> typeClass, ScopedReferenceTracker scope) {
+        this.decoder = Objects.requireNonNull(decoder);
+        this.input = Objects.requireNonNull(input);
+        this.typeClass = Objects.requireNonNull(typeClass);
+        this.scope = scope;
+    }
+
+    @Override
+    public boolean hasNext() {
+        skipWhitespace(input);
+
+        return input.isAlive();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        if (scope != null) {
+            scope.resetScope();
+        }
+
+        // Object documents are read without a hint, like untyped reads
+        if (typeClass == Object.class) {
+            return typeClass.cast(decoder.read(input));
+        }
+
+        return decoder.read(input, typeClass);
+    }
+
+    @Override
+    public void close() {
+        if (input instanceof Closeable) {
+            try {
+                ((Closeable)input).close();
+            }
+            catch (IOException e) {
+                throw new BeatException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package org.beat.formats.text;
+
+import org.beat.errors.BeatException;
+import org.beat.io.standard.ArrayInput;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import static org.beat.formats.text.TextDecoder.isStringDelimiter;
+import static org.beat.formats.text.TextDecoder.isTokenChar;
+
+// Accepts chunks of bytes with any boundaries and finds where each top-level
+// document ends, only the chars received since the last feed are scanned.
+// Complete documents are decoded from the char buffer without copying them.
+public class IncrementalDecoder {
+
+    public enum Status {
+        NEED_MORE_INPUT,
+        DOCUMENT_READY
+    }
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final TextDecoder decoder;
+    private final CharsetDecoder charsetDecoder;
+
+    // Bytes of a char split between two chunks
+    private final ByteBuffer carry;
+
+    private char[] chars;
+    private int start;
+    private int length;
+
+    // Ends of the complete documents that were not taken yet
+    private int[] ends;
+    private int endCount;
+
+    // Scanner state of the current document
+    private int scanned;
+    private int depth;
+    private char quote;
+    private boolean escaped;
+    private boolean inToken;
+    private boolean inReference;
+    private boolean pending;
+    private boolean finished;
+
+    public IncrementalDecoder(TextDecoder decoder) {
+        this(decoder, StandardCharsets.UTF_8);
+    }
+
+    public IncrementalDecoder(TextDecoder decoder, Charset charset) {
+        this.decoder = Objects.requireNonNull(decoder);
+        this.charsetDecoder = charset.newDecoder();
+        this.carry = ByteBuffer.allocate(16);
+        this.chars = new char[INITIAL_CAPACITY];
+        this.ends = new int[8];
+    }
+
+    // All the remaining bytes are consumed
+    public Status feed(ByteBuffer bytes) {
+        if (finished) {
+            throw new BeatException("The input was already finished.");
+        }
+
+        if (carry.position() > 0) {
+            while (carry.position() > 0 && bytes.hasRemaining()) {
+                carry.put(bytes.get());
+                carry.flip();
+                decode(carry, false);
+                carry.compact();
+            }
+        }
+
+        decode(bytes, false);
+
+        if (bytes.hasRemaining()) {
+            carry.put(bytes);
+        }
+
+        scan();
+
+        return getStatus();
+    }
+
+    // A document that could still continue is completed at the end of the input
+    public Status finish() {
+        if (!finished) {
+            finished = true;
+
+            carry.flip();
+            decode(carry, true);
+            carry.clear();
+
+            scan();
+
+            if (hasContent(lastEnd(), length)) {
+                addEnd(length);
+            }
+        }
+
+        return getStatus();
+    }
+
+    public Status getStatus() {
+        return endCount > 0 ? Status.DOCUMENT_READY : Status.NEED_MORE_INPUT;
+    }
+
+    public boolean hasDocument() {
+        return endCount > 0;
+    }
+
+    public Object nextDocument() {
+        var input = takeDocument();
+
+        return decoder.read(input);
+    }
+
+    public <T> T nextDocument(Class<T> typeClass) {
+        var input = takeDocument();
+
+        return decoder.read(input, typeClass);
+    }
+
+    public void nextDocument(BeatVisitor visitor) {
+        var input = takeDocument();
+
+        decoder.parse(input, visitor);
+    }
+
+    // PRIVATE
+
+    private ArrayInput takeDocument() {
+        if (endCount == 0) {
+            throw new NoSuchElementException();
+        }
+
+        var end = ends[0];
+        var input = new ArrayInput(chars, start, end - start);
+
+        endCount--;
+        System.arraycopy(ends, 1, ends, 0, endCount);
+        start = end;
+
+        return input;
+    }
+
+    private int lastEnd() {
+        return endCount > 0 ? ends[endCount - 1] : start;
+    }
+
+    private boolean hasContent(int from, int to) {
+        for (var i = from; i < to; i++) {
+            var c = chars[i];
+
+            if (c != ' ' && c != '\n' && c != '\t' && c != '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void decode(ByteBuffer bytes, boolean endOfInput) {
+        while (true) {
+            ensureCapacity(Math.max(16, bytes.remaining()));
+
+            var out = CharBuffer.wrap(chars, length, chars.length - length);
+            var result = charsetDecoder.decode(bytes, out, endOfInput);
+
+            length = out.position();
+
+            if (result.isError()) {
+                try {
+                    result.throwException();
+                }
+                catch (CharacterCodingException e) {
+                    throw new BeatException(e);
+                }
+            }
+            else if (!result.isOverflow()) {
+                break;
+            }
+        }
+
+        if (endOfInput) {
+            charsetDecoder.flush(CharBuffer.wrap(chars, length, chars.length - length));
+        }
+    }
+
+    // Taken chars are dropped before the buffer grows
+    private void ensureCapacity(int extra) {
+        if (length + extra <= chars.length) {
+            return;
+        }
+
+        if (start > 0) {
+            System.arraycopy(chars, start, chars, 0, length - start);
+
+            for (var i = 0; i < endCount; i++) {
+                ends[i] -= start;
+            }
+
+            length -= start;
+            scanned -= start;
+            start = 0;
+        }
+
+        if (length + extra > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + extra));
+        }
+    }
+
+    private void addEnd(int end) {
+        if (endCount == ends.length) {
+            ends = Arrays.copyOf(ends, endCount * 2);
+        }
+
+        ends[endCount++] = end;
+    }
+
+    private void scan() {
+        for (var i = scanned; i < length; i++) {
+            var c = chars[i];
+
+            if (quote != 0) {
+                if (escaped) {
+                    escaped = false;
+                }
+                else if (c == '\\') {
+                    escaped = true;
+                }
+                else if (c == quote) {
+                    quote = 0;
+                    pending = (depth == 0 && !inReference);
+                }
+                continue;
+            }
+            else if (inToken) {
+                if (isTokenChar(c)) {
+                    continue;
+                }
+
+                inToken = false;
+                pending = (depth == 0 && !inReference);
+            }
+
+            if (c == ' ' || c == '\n' || c == '\t' || c == '\r') {
+                continue;
+            }
+
+            if (depth > 0) {
+                if (c == '{' || c == '[' || c == '(') {
+                    depth++;
+                }
+                else if (c == '}' || c == ']' || c == ')') {
+                    depth--;
+
+                    if (depth == 0) {
+                        completeDocument(i + 1);
+                    }
+                }
+                else if (isStringDelimiter(c)) {
+                    quote = c;
+                }
+                else if (isTokenChar(c)) {
+                    inToken = true;
+                }
+                continue;
+            }
+
+            // A complete string, token or reference is only a type name
+            // or a reference definition when a structure follows
+            if (pending && c != '{' && c != '[' && c != '(' && c != '<') {
+                completeDocument(i);
+                i--;
+                continue;
+            }
+
+            pending = false;
+
+            if (inReference) {
+                if (c == '>') {
+                    inReference = false;
+                    pending = true;
+                }
+                else if (isStringDelimiter(c)) {
+                    quote = c;
+                }
+                else if (isTokenChar(c)) {
+                    inToken = true;
+                }
+            }
+            else if (c == '{' || c == '[' || c == '(') {
+                depth++;
+            }
+            else if (c == '<') {
+                inReference = true;
+            }
+            else if (isStringDelimiter(c)) {
+                quote = c;
+            }
+            else if (isTokenChar(c)) {
+                inToken = true;
+            }
+            else {
+                // The decoder reports the unexpected char
+                completeDocument(i + 1);
+            }
+        }
+
+        scanned = length;
+    }
+
+    private void completeDocument(int end) {
+        addEnd(end);
+
+        depth = 0;
+        quote = 0;
+        escaped = false;
+        inToken = false;
+        inReference = false;
+        pending = false;
+    }
+
+}
@@ -0,0 +1,13 @@
+package org.beat.formats.text;
+
+// How numbers are represented when there is no type hint for them
+public enum NumberMode {
+    // BigInteger and BigDecimal
+    BIG,
+    // Integer, Long or Double, BigInteger and BigDecimal only when they do not fit
+    SMALLEST,
+    // Long or Double, BigInteger and BigDecimal only when they do not fit
+    LONG_DOUBLE,
+    // LazyNumber keeping the token until the value is accessed
+    LAZY,
+}
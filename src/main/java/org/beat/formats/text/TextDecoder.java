@@ -1,31 +1,50 @@
 package org.beat.formats.text;
 
+import org.beat.errors.BeatException;
+import org.beat.errors.ConversionException;
 import org.beat.errors.InvalidSyntaxException;
+import org.beat.examiners.PrimitiveKind;
 import org.beat.io.CharInput;
+import org.beat.io.CharPredicate;
+import org.beat.io.standard.ArrayInput;
 import org.beat.io.standard.SequenceInput;
+import org.beat.io.standard.StringInput;
 import org.beat.producers.ArrayProducer;
 import org.beat.producers.ObjectProducer;
+import org.beat.producers.ObjectSlot;
+import org.beat.producers.PrimitiveArrayProducer;
+import org.beat.producers.PrimitiveObjectSlot;
+import org.beat.producers.SlottedObjectProducer;
 import org.beat.producers.ValueProducer;
-import org.beat.producers.standard.StandardArrayProducers;
-import org.beat.producers.standard.StandardObjectProducers;
-import org.beat.producers.standard.StandardValueProducers;
+import org.beat.producers.standard.value.BinaryProducer;
 import org.beat.references.ReferenceTracker;
 import org.beat.references.impl.StandardReferenceTracker;
 import org.beat.repositories.ProducerRepository;
+import org.beat.repositories.standard.ProducerCache;
+import org.beat.types.LazyNumber;
+import org.beat.util.Base64Chars;
+import org.beat.util.Numbers;
 import org.beat.util.PP;
 
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
-import java.util.regex.Pattern;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 
 public class TextDecoder {
 
     private final ReferenceTracker references;
     private final ProducerRepository producers;
+    private final ProducerCache producerCache;
+    private final StringBuilder tokenBuffer;
 
     private boolean useCleanDefaultTypes;
+    private NumberMode numberMode;
 
     public TextDecoder() {
         this(null, null);
@@ -40,8 +59,19 @@ public class TextDecoder {
     }
 
     public TextDecoder(ProducerRepository producers, ReferenceTracker references) {
+        this(producers, references, null);
+    }
+
+    public TextDecoder(ProducerRepository producers, ReferenceTracker references, ProducerCache producerCache) {
         this.references = (references != null ? references : new StandardReferenceTracker());
         this.producers = producers;
+        this.producerCache = (producerCache != null ? producerCache : new ProducerCache());
+        this.tokenBuffer = new StringBuilder();
+        this.numberMode = NumberMode.BIG;
+    }
+
+    public ProducerCache getProducerCache() {
+        return producerCache;
     }
 
     public boolean getUseCleanDefaultTypes() {
@@ -52,12 +82,28 @@ public class TextDecoder {
         this.useCleanDefaultTypes = useCleanDefaultTypes;
     }
 
+    public NumberMode getNumberMode() {
+        return numberMode;
+    }
+
+    public void setNumberMode(NumberMode numberMode) {
+        this.numberMode = Objects.requireNonNull(numberMode);
+    }
+
     public Object read(CharSequence text) {
-        return read(new SequenceInput(text));
+        return read(createInput(text));
     }
 
     public <T> T read(CharSequence text, Class<T> typeClass) {
-        return read(new SequenceInput(text), typeClass);
+        return read(createInput(text), typeClass);
+    }
+
+    public Object read(char[] text) {
+        return read(new ArrayInput(text));
+    }
+
+    public <T> T read(char[] text, Class<T> typeClass) {
+        return read(new ArrayInput(text), typeClass);
     }
 
     public Object read(CharInput input) {
@@ -70,8 +116,116 @@ public class TextDecoder {
         return typeClass.cast(result);
     }
 
+    // Items of a top-level array are decoded one at a time, as they are requested
+    public <T> Iterator<T> readItems(CharInput input, Class<T> itemClass) {
+        return new ItemIterator<>(input, itemClass);
+    }
+
+    // Events are pushed to the visitor without producing any value
+    public void parse(CharInput input, BeatVisitor visitor) {
+        var reader = new BeatReader(input);
+        var typeName = new StringBuilder();
+        var reference = new StringBuilder();
+        var typed = false;
+        var referenced = false;
+
+        while (true) {
+            var token = reader.nextToken();
+
+            // A reference without a structure is only known to be complete at the next token
+            if (referenced && !token.isBegin()) {
+                visitor.onReference(reference);
+                referenced = false;
+            }
+
+            switch (token) {
+                case TYPE_NAME:
+                    typeName.setLength(0);
+                    typeName.append(reader.getText());
+                    typed = true;
+                    continue;
+                case REFERENCE:
+                    reference.setLength(0);
+                    reference.append(reader.getText());
+                    referenced = true;
+                    continue;
+                case BEGIN_OBJECT:
+                    visitor.onObjectStart(typed ? typeName : null, referenced ? reference : null);
+                    break;
+                case BEGIN_ARRAY:
+                    visitor.onArrayStart(typed ? typeName : null, referenced ? reference : null);
+                    break;
+                case BEGIN_VALUE:
+                    visitor.onValueStart(typed ? typeName : null, referenced ? reference : null);
+                    break;
+                case END_OBJECT:
+                    visitor.onObjectEnd();
+                    break;
+                case END_ARRAY:
+                    visitor.onArrayEnd();
+                    break;
+                case END_VALUE:
+                    visitor.onValueEnd();
+                    break;
+                case KEY:
+                    visitor.onKey(reader.getText());
+                    break;
+                case SCALAR:
+                    visitScalar(visitor, reader);
+                    break;
+                case END_DOCUMENT:
+                    return;
+                default:
+                    throw new InvalidSyntaxException("Unexpected token: " + token, input.getLocation());
+            }
+
+            typed = false;
+            referenced = false;
+        }
+    }
+
     // PRIVATE
 
+    private static void visitScalar(BeatVisitor visitor, BeatReader reader) {
+        var text = reader.getText();
+
+        if (reader.isQuoted()) {
+            visitor.onScalar(text);
+        }
+        else if (reader.isNull()) {
+            visitor.onNull();
+        }
+        else if (reader.textEquals("true") || reader.textEquals("false")) {
+            visitor.onScalar(reader.getBoolean());
+        }
+        else if (Numbers.isInteger(text) && text.length() < 19) {
+            visitor.onScalar(Numbers.parseLong(text));
+        }
+        else if (Numbers.isInteger(text)) {
+            visitLargeInteger(visitor, text);
+        }
+        else if (Numbers.isDecimal(text)) {
+            visitor.onScalar(Numbers.parseDouble(text));
+        }
+        else {
+            visitor.onScalar(text);
+        }
+    }
+
+    private static void visitLargeInteger(BeatVisitor visitor, CharSequence text) {
+        long value;
+
+        try {
+            value = Numbers.parseLong(text);
+        }
+        catch (ConversionException e) {
+            visitor.onScalar(text);
+            return;
+        }
+
+        visitor.onScalar(value);
+    }
+
     private Object readWithHint(CharInput input, Type typeHint) {
         skipWhitespace(input);
 
@@ -93,7 +247,24 @@ public class TextDecoder {
         Object atomic;
 
         if (isTokenChar(c)) {
-            atomic = evalToken(continueToken(input));
+            if (isNumberHint(typeHint)) {
+                tokenBuffer.setLength(0);
+                input.pullWhile(TOKEN_CHAR, tokenBuffer);
+
+                var number = Numbers.parse(tokenBuffer, (Class<?>)typeHint);
+
+                if (number != null) {
+                    return number;
+                }
+
+                atomic = evalToken(tokenBuffer.toString(), typeHint);
+            }
+            else {
+                atomic = evalToken(continueToken(input), typeHint);
+            }
+        }
+        else if (isStringDelimiter(c) && isBinaryHint(typeHint)) {
+            return readBinary(input, typeHint);
         }
         else if(isStringDelimiter(c)) {
             atomic = continueString(input);
@@ -102,10 +273,15 @@ public class TextDecoder {
             throw new InvalidSyntaxException("Expected to read a value.", input.getLocation());
         }
 
+        return continueAtomic(input, atomic, typeHint);
+    }
+
+    // A string can still be the type name of what follows
+    private Object continueAtomic(CharInput input, Object atomic, Type typeHint) {
         if (atomic instanceof String) {
             skipWhitespace(input);
 
-            c = input.peek();
+            var c = input.peek();
 
             if (c == '{') {
                 return readObject(input, (String)atomic, typeHint);
@@ -124,6 +300,38 @@ public class TextDecoder {
         return evalValue(atomic, typeHint);
     }
 
+    // Numeric hints without a custom producer are parsed from the token chars
+    private boolean isNumberHint(Type typeHint) {
+        return typeHint instanceof Class
+                && Numbers.isSupported((Class<?>)typeHint)
+                && !hasValueProducer(typeHint);
+    }
+
+    private boolean isBinaryHint(Type typeHint) {
+        return (typeHint == byte[].class || typeHint == ByteBuffer.class) && !hasValueProducer(typeHint);
+    }
+
+    // The base64 chars are decoded from the buffer, unless the string is a type name
+    private Object readBinary(CharInput input, Type typeHint) {
+        tokenBuffer.setLength(0);
+        continueString(input, tokenBuffer);
+        skipWhitespace(input);
+
+        var c = input.peek();
+
+        if (c == '{' || c == '[' || c == '(' || c == '<') {
+            return continueAtomic(input, tokenBuffer.toString(), typeHint);
+        }
+
+        var producer = (typeHint == byte[].class ? BinaryProducer.BYTES_INSTANCE : BinaryProducer.BUFFER_INSTANCE);
+
+        return producer.produce(Base64Chars.parse(tokenBuffer));
+    }
+
+    private boolean hasValueProducer(Type typeHint) {
+        return producers != null && producers.getValueProducer(typeHint) != null;
+    }
+
     private Object evalValue(Object value, Type typeHint) {
         var producer = searchValueProducer(null, typeHint);
 
@@ -157,6 +365,11 @@ public class TextDecoder {
 
     private Object readObject(CharInput input, String typeName, Type typeHint) {
         var producer = searchObjectProducer(typeName, typeHint);
+
+        if (producer instanceof SlottedObjectProducer) {
+            return readSlottedObject(input, (SlottedObjectProducer)producer);
+        }
+
         var obj = producer.beginInstance();
 
         input.expect('{');
@@ -190,9 +403,155 @@ public class TextDecoder {
         return producer.endInstance(obj);
     }
 
+    // Keys are matched against the slots while still in the key buffer, so
+    // known keys never become a String.
+    private Object readSlottedObject(CharInput input, SlottedObjectProducer producer) {
+        var obj = producer.beginInstance();
+        ObjectSlot slot = null;
+
+        input.expect('{');
+
+        do {
+            skipWhitespace(input);
+
+            tokenBuffer.setLength(0);
+
+            if (!readKey(input, tokenBuffer)) {
+                break;
+            }
+
+            skipWhitespace(input);
+
+            input.expect(':');
+
+            skipWhitespace(input);
+
+            var found = producer.findSlot(tokenBuffer, slot);
+
+            if (found != null) {
+                slot = found;
+
+                if (isUnboxedSlot(slot) && isTokenChar(input.peek())) {
+                    readPrimitive(input, obj, (PrimitiveObjectSlot)slot);
+                }
+                else {
+                    slot.set(obj, readWithHint(input, slot.getTypeHint()));
+                }
+            }
+            else {
+                var key = tokenBuffer.toString();
+                var value = readWithHint(input, producer.getTypeHint(key));
+
+                producer.set(obj, key, value);
+            }
+
+            skipWhitespace(input);
+        }
+        while (input.tryPull(','));
+
+        input.expect('}');
+
+        return producer.endInstance(obj);
+    }
+
+    private boolean isUnboxedSlot(ObjectSlot slot) {
+        return slot instanceof PrimitiveObjectSlot
+                && ((PrimitiveObjectSlot)slot).getKind() != PrimitiveKind.NONE
+                && !hasValueProducer(slot.getTypeHint());
+    }
+
+    private boolean isUnboxedProducer(ArrayProducer producer) {
+        return producer instanceof PrimitiveArrayProducer
+                && ((PrimitiveArrayProducer)producer).getKind() != PrimitiveKind.NONE
+                && !hasValueProducer(producer.getComponentTypeHint());
+    }
+
+    // Plain tokens are parsed and assigned without boxing, anything else
+    // like null or a type name goes through the generic setter.
+    private void readPrimitive(CharInput input, Object obj, PrimitiveObjectSlot slot) {
+        var kind = slot.getKind();
+
+        if (readPrimitiveToken(input, kind)) {
+            try {
+                switch (kind) {
+                    case INT:
+                        slot.setInt(obj, Numbers.parseInt(tokenBuffer));
+                        return;
+                    case LONG:
+                        slot.setLong(obj, Numbers.parseLong(tokenBuffer));
+                        return;
+                    case DOUBLE:
+                        slot.setDouble(obj, Numbers.parseDouble(tokenBuffer));
+                        return;
+                    case BOOLEAN:
+                        slot.setBoolean(obj, tokenBuffer.length() == 4);
+                        return;
+                }
+            }
+            catch (ConversionException e) {
+                // Same context as the converting setters
+                throw new BeatException(obj.getClass().getSimpleName() + "[" + slot.getKey() + "]: " + e.getMessage(), e);
+            }
+        }
+
+        var typeHint = slot.getTypeHint();
+
+        slot.set(obj, continueAtomic(input, evalToken(tokenBuffer.toString(), typeHint), typeHint));
+    }
+
+    private void readPrimitive(CharInput input, Object arr, PrimitiveArrayProducer producer) {
+        var kind = producer.getKind();
+
+        if (readPrimitiveToken(input, kind)) {
+            try {
+                switch (kind) {
+                    case INT:
+                        producer.addInt(arr, Numbers.parseInt(tokenBuffer));
+                        return;
+                    case LONG:
+                        producer.addLong(arr, Numbers.parseLong(tokenBuffer));
+                        return;
+                    case DOUBLE:
+                        producer.addDouble(arr, Numbers.parseDouble(tokenBuffer));
+                        return;
+                    case BOOLEAN:
+                        producer.addBoolean(arr, tokenBuffer.length() == 4);
+                        return;
+                }
+            }
+            catch (ConversionException e) {
+                // Same context as the converting array producers
+                throw new BeatException(producer.getComponentTypeHint().getTypeName() + "[]: " + e.getMessage(), e);
+            }
+        }
+
+        var typeHint = producer.getComponentTypeHint();
+
+        producer.add(arr, continueAtomic(input, evalToken(tokenBuffer.toString(), typeHint), typeHint));
+    }
+
+    // Reads a token in the buffer and tells if it has the syntax of the kind
+    private boolean readPrimitiveToken(CharInput input, PrimitiveKind kind) {
+        tokenBuffer.setLength(0);
+        input.pullWhile(TOKEN_CHAR, tokenBuffer);
+
+        switch (kind) {
+            case INT:
+            case LONG:
+                return Numbers.isInteger(tokenBuffer);
+            case DOUBLE:
+                return Numbers.isInteger(tokenBuffer) || Numbers.isDecimal(tokenBuffer);
+            case BOOLEAN:
+                return "true".contentEquals(tokenBuffer) || "false".contentEquals(tokenBuffer);
+            default:
+                return false;
+        }
+    }
+
     private Object readArray(CharInput input, String typeName, Type typeHint) {
         var producer = searchArrayProducer(typeName, typeHint);
         var componentTypeHint = producer.getComponentTypeHint();
+        var primitives = (isUnboxedProducer(producer) ? (PrimitiveArrayProducer)producer : null);
         var arr = producer.beginInstance();
 
         input.expect('[');
@@ -204,9 +563,14 @@ public class TextDecoder {
                 break;
             }
 
-            var value = readWithHint(input, componentTypeHint);
+            if (primitives != null && isTokenChar(input.peek())) {
+                readPrimitive(input, arr, primitives);
+            }
+            else {
+                var value = readWithHint(input, componentTypeHint);
 
-            producer.add(arr, value);
+                producer.add(arr, value);
+            }
 
             skipWhitespace(input);
         }
@@ -262,7 +626,7 @@ public class TextDecoder {
             }
         }
 
-        return StandardObjectProducers.create(typeHint, typeName, useCleanDefaultTypes);
+        return producerCache.getObjectProducer(typeHint, typeName, useCleanDefaultTypes);
     }
 
     private ArrayProducer searchArrayProducer(String typeName, Type typeHint) {
@@ -284,7 +648,7 @@ public class TextDecoder {
             }
         }
 
-        return StandardArrayProducers.create(typeHint, typeName, useCleanDefaultTypes);
+        return producerCache.getArrayProducer(typeHint, typeName, useCleanDefaultTypes);
     }
 
     private ValueProducer searchValueProducer(String typeName, Type typeHint) {
@@ -304,7 +668,7 @@ public class TextDecoder {
             }
         }
 
-        return StandardValueProducers.create(typeHint, typeName, useCleanDefaultTypes);
+        return producerCache.getValueProducer(typeHint, typeName, useCleanDefaultTypes);
     }
 
     private Object store(String reference, Object value) {
@@ -314,26 +678,35 @@ public class TextDecoder {
 
     // STATIC
 
-    private static final Pattern INTEGER_PATTERN = Pattern.compile("[+-]?[0-9]+");
+    static final CharPredicate TOKEN_CHAR = TextDecoder::isTokenChar;
 
-    private static final Pattern DECIMAL_PATTERN = Pattern.compile("[+-]?[0-9]*\\.[0-9]+([eE][+-]?[0-9]+)?");
+    private static final CharPredicate WHITESPACE = TextDecoder::isWhitespace;
 
-    private static boolean isInteger(String str) {
-        return INTEGER_PATTERN.matcher(str).matches();
-    }
+    private static final CharPredicate DOUBLE_QUOTED_CHAR = c -> c != '\"' && c != '\\';
+
+    private static final CharPredicate SINGLE_QUOTED_CHAR = c -> c != '\'' && c != '\\';
+
+    static CharInput createInput(CharSequence text) {
+        // Strings are scanned in place, heap buffers by index over their backing array
+        if (text instanceof String) {
+            return new StringInput((String)text);
+        }
+        else if (text instanceof CharBuffer && ((CharBuffer)text).hasArray()) {
+            var buffer = (CharBuffer)text;
 
-    private static boolean isDecimal(String str) {
-        return DECIMAL_PATTERN.matcher(str).matches();
+            return new ArrayInput(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        return new SequenceInput(text);
     }
 
-    private static boolean isTokenChar(char c) {
+    static boolean isTokenChar(char c) {
         return (c >= 'a' && c <= 'z')
                 || (c >= 'A' && c <= 'Z')
                 || (c >= '0' && c <= '9')
                 || c == '_' || c == '.' || c == '/' || c == '-' || c == '+';
     }
 
-    private static boolean isStringDelimiter(char c) {
+    static boolean isStringDelimiter(char c) {
         return c == '\"' || c == '\'';
     }
 
@@ -341,10 +714,8 @@ public class TextDecoder {
         return c == ' ' || c == '\n' || c == '\t'  || c == '\r';
     }
 
-    private static void skipWhitespace(CharInput input) {
-        while (isWhitespace(input.peek())) {
-            input.pull();
-        }
+    static void skipWhitespace(CharInput input) {
+        input.skipWhile(WHITESPACE);
     }
 
     private static String readKeyOrNull(CharInput input) {
@@ -358,24 +729,42 @@ public class TextDecoder {
         return null;
     }
 
+    private static boolean readKey(CharInput input, StringBuilder buffer) {
+        var c = input.peek();
+        if (isTokenChar(c)) {
+            input.pullWhile(TOKEN_CHAR, buffer);
+            return true;
+        }
+        else if (isStringDelimiter(c)) {
+            continueString(input, buffer);
+            return true;
+        }
+        return false;
+    }
+
     private static String continueToken(CharInput input) {
-        var token = new StringBuilder();
+        return input.pullWhile(TOKEN_CHAR);
+    }
 
-        do {
-            var c = input.pull();
+    private static String continueString(CharInput input) {
+        var buffer = new StringBuilder();
 
-            token.append(c);
-        }
-        while (isTokenChar(input.peek()));
+        continueString(input, buffer);
 
-        return token.toString();
+        return buffer.toString();
     }
 
-    private static String continueString(CharInput input) {
+    static void continueString(CharInput input, StringBuilder buffer) {
         var delimiter = input.pull();
-        var buffer = new StringBuilder();
+        var plainChar = (delimiter == '\'' ? SINGLE_QUOTED_CHAR : DOUBLE_QUOTED_CHAR);
 
         while(input.isAlive()) {
+            input.pullWhile(plainChar, buffer);
+
+            if (!input.isAlive()) {
+                break;
+            }
+
             var chr = input.pull();
 
             if (chr == delimiter) {
@@ -415,8 +804,6 @@ public class TextDecoder {
                 buffer.append(chr);
             }
         }
-
-        return buffer.toString();
     }
 
     private static String readReference(CharInput input) {
@@ -435,7 +822,7 @@ public class TextDecoder {
         return reference;
     }
 
-    private static Object evalToken(String token) {
+    private Object evalToken(String token, Type typeHint) {
         if ("null".equals(token)) {
             return null;
         }
@@ -445,15 +832,107 @@ public class TextDecoder {
         else if ("false".equals(token)) {
             return false;
         }
-        else if (isInteger(token)) {
-            return new BigInteger(token);
+
+        // Only untyped numbers follow the mode, typed hints convert from big numbers
+        var mode = (typeHint == null || typeHint == Object.class || typeHint == Number.class ? numberMode : NumberMode.BIG);
+
+        if (Numbers.isInteger(token)) {
+            switch (mode) {
+                case SMALLEST:
+                    return Numbers.parseInteger(token, true);
+                case LONG_DOUBLE:
+                    return Numbers.parseInteger(token, false);
+                case LAZY:
+                    return new LazyNumber(token);
+                default:
+                    return new BigInteger(token);
+            }
         }
-        else if (isDecimal(token)) {
-            return new BigDecimal(token);
+        else if (Numbers.isDecimal(token)) {
+            switch (mode) {
+                case SMALLEST:
+                case LONG_DOUBLE:
+                    return Numbers.parseDecimal(token);
+                case LAZY:
+                    return new LazyNumber(token);
+                default:
+                    return new BigDecimal(token);
+            }
         }
         else {
             return token;
         }
     }
 
+
+    private class ItemIterator<T> implements Iterator<T> {
+        private final CharInput input;
+        private final Class<T> itemClass;
+        private boolean started;
+        private boolean finished;
+
+        private ItemIterator(CharInput input, Class<T> itemClass) {
+            this.input = Objects.requireNonNull(input);
+            this.itemClass = Objects.requireNonNull(itemClass);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!started) {
+                begin();
+            }
+            return !finished;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            // Object items are read without a hint, like untyped reads
+            var item = itemClass.cast(readWithHint(input, itemClass != Object.class ? itemClass : null));
+
+            skipWhitespace(input);
+
+            if (!input.tryPull(',')) {
+                input.expect(']');
+                finished = true;
+            }
+            else {
+                skipWhitespace(input);
+
+                // A trailing comma is allowed before the end of the array
+                finished = input.tryPull(']');
+            }
+
+            return item;
+        }
+
+        // The array can be preceded by a type name, it does not change the item type
+        private void begin() {
+            started = true;
+
+            skipWhitespace(input);
+
+            var c = input.peek();
+
+            if (isTokenChar(c)) {
+                input.skipWhile(TOKEN_CHAR);
+                skipWhitespace(input);
+            }
+            else if (isStringDelimiter(c)) {
+                tokenBuffer.setLength(0);
+                continueString(input, tokenBuffer);
+                skipWhitespace(input);
+            }
+
+            input.expect('[');
+
+            skipWhitespace(input);
+
+            finished = input.tryPull(']');
+        }
+    }
+
 }
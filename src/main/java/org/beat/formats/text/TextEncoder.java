@@ -4,17 +4,23 @@ import org.beat.errors.CyclicDocumentException;
 import org.beat.errors.UnsupportedValueException;
 import org.beat.examiners.ArrayExaminer;
 import org.beat.examiners.Examiner;
-import org.beat.examiners.standard.StandardExaminers;
 import org.beat.io.standard.AppendableOutput;
 import org.beat.repositories.ExaminerRepository;
+import org.beat.repositories.standard.ExaminerCache;
 import org.beat.examiners.ObjectExaminer;
+import org.beat.examiners.PrimitiveArrayExaminer;
+import org.beat.examiners.PrimitiveKind;
+import org.beat.examiners.PrimitiveObjectExaminer;
 import org.beat.examiners.ValueExaminer;
 import org.beat.references.ReferenceProvider;
 import org.beat.io.CharOutput;
+import org.beat.util.Base64Chars;
 import org.beat.util.PP;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -23,11 +29,15 @@ public class TextEncoder {
 
     private final ReferenceProvider references;
     private final ExaminerRepository examiners;
+    private final ExaminerCache examinerCache;
 
     private boolean skipNullFields;
 
     private final Deque<Object> cycleStack;
 
+    // Kinds of primitive attributes written without boxing during the current write
+    private EnumSet<PrimitiveKind> unboxedKinds;
+
     public TextEncoder() {
         this(null, null);
     }
@@ -41,11 +51,20 @@ public class TextEncoder {
     }
 
     public TextEncoder(ExaminerRepository examiners, ReferenceProvider references) {
+        this(examiners, references, null);
+    }
+
+    public TextEncoder(ExaminerRepository examiners, ReferenceProvider references, ExaminerCache examinerCache) {
         this.examiners = examiners;
         this.references = references;
+        this.examinerCache = (examinerCache != null ? examinerCache : new ExaminerCache());
         this.cycleStack = new ArrayDeque<>();
     }
 
+    public ExaminerCache getExaminerCache() {
+        return examinerCache;
+    }
+
     public boolean getSkipNullFields() {
         return skipNullFields;
     }
@@ -64,9 +83,31 @@ public class TextEncoder {
     }
 
     public void write(Object value, CharOutput output) {
+        unboxedKinds = findUnboxedKinds();
+
         write(output, new HashSet<>(), value);
     }
 
+    // A boxed value could get a reference or a custom examiner, so those kinds keep boxing
+    private EnumSet<PrimitiveKind> findUnboxedKinds() {
+        var kinds = EnumSet.noneOf(PrimitiveKind.class);
+
+        if (references == null) {
+            addUnboxedKind(kinds, PrimitiveKind.INT, Integer.class);
+            addUnboxedKind(kinds, PrimitiveKind.LONG, Long.class);
+            addUnboxedKind(kinds, PrimitiveKind.DOUBLE, Double.class);
+            addUnboxedKind(kinds, PrimitiveKind.BOOLEAN, Boolean.class);
+        }
+
+        return kinds;
+    }
+
+    private void addUnboxedKind(EnumSet<PrimitiveKind> kinds, PrimitiveKind kind, Class<?> boxType) {
+        if (examiners == null || !examiners.mayExamine(boxType)) {
+            kinds.add(kind);
+        }
+    }
+
     private void write(CharOutput output, Set<Object> writtenRefs, Object value) {
         var reference = references != null ? references.getReference(value) : null;
         if (reference == null) {
@@ -104,7 +145,7 @@ public class TextEncoder {
                 return examiner;
             }
         }
-        return StandardExaminers.create(value);
+        return examinerCache.getExaminer(value);
     }
 
     private void writeContent(CharOutput output, Set<Object> writtenRefs, Object value, Examiner examiner, boolean wrap) {
@@ -144,21 +185,27 @@ public class TextEncoder {
         output.indent(+1);
         output.line();
 
+        var primitives = (examiner instanceof PrimitiveObjectExaminer && !unboxedKinds.isEmpty()
+                ? (PrimitiveObjectExaminer)examiner
+                : null);
+
         var i = 0;
         for (var entryKey : entryKeys) {
-            var entryValue = examiner.getValue(value, entryKey);
-
-            if (entryValue != null || !skipNullFields) {
-                if (i > 0) {
-                    output.write(',');
-                    output.line();
+            if (primitives != null) {
+                var kind = primitives.getKind(value, entryKey);
+
+                if (unboxedKinds.contains(kind)) {
+                    writeEntryKey(output, entryKey, i);
+                    writePrimitive(output, primitives, value, entryKey, kind);
+                    i++;
+                    continue;
                 }
+            }
 
-                writeString(output, entryKey);
-
-                output.write(':');
-                output.space();
+            var entryValue = examiner.getValue(value, entryKey);
 
+            if (entryValue != null || !skipNullFields) {
+                writeEntryKey(output, entryKey, i);
                 write(output, writtenRefs, entryValue);
                 i++;
             }
@@ -169,6 +216,37 @@ public class TextEncoder {
         output.write('}');
     }
 
+    private static void writeEntryKey(CharOutput output, String key, int index) {
+        if (index > 0) {
+            output.write(',');
+            output.line();
+        }
+
+        writeString(output, key);
+
+        output.write(':');
+        output.space();
+    }
+
+    private static void writePrimitive(CharOutput output, PrimitiveObjectExaminer examiner, Object value, String key, PrimitiveKind kind) {
+        switch (kind) {
+            case INT:
+                output.writeInt(examiner.getInt(value, key));
+                break;
+            case LONG:
+                output.writeLong(examiner.getLong(value, key));
+                break;
+            case DOUBLE:
+                output.writeDouble(examiner.getDouble(value, key));
+                break;
+            case BOOLEAN:
+                output.write(examiner.getBoolean(value, key) ? "true" : "false");
+                break;
+            default:
+                throw new UnsupportedValueException("Unsupported primitive kind: " + kind);
+        }
+    }
+
     private void writeArray(CharOutput output, Set<Object> writtenRefs, Object value, ArrayExaminer examiner) {
         var size = examiner.getSizeOf(value);
 
@@ -181,6 +259,20 @@ public class TextEncoder {
         output.indent(+1);
         output.line();
 
+        if (examiner instanceof PrimitiveArrayExaminer
+                && unboxedKinds.contains(((PrimitiveArrayExaminer)examiner).getKind())) {
+            writePrimitiveItems(output, (PrimitiveArrayExaminer)examiner, value, size);
+        }
+        else {
+            writeItems(output, writtenRefs, value, examiner, size);
+        }
+
+        output.indent(-1);
+        output.line();
+        output.write(']');
+    }
+
+    private void writeItems(CharOutput output, Set<Object> writtenRefs, Object value, ArrayExaminer examiner, int size) {
         for (var i = 0; i < size; i++) {
             var item = examiner.getValueAt(i, value);
 
@@ -191,10 +283,34 @@ public class TextEncoder {
 
             write(output, writtenRefs, item);
         }
+    }
 
-        output.indent(-1);
-        output.line();
-        output.write(']');
+    private static void writePrimitiveItems(CharOutput output, PrimitiveArrayExaminer examiner, Object value, int size) {
+        var kind = examiner.getKind();
+
+        for (var i = 0; i < size; i++) {
+            if (i > 0) {
+                output.write(',');
+                output.line();
+            }
+
+            switch (kind) {
+                case INT:
+                    output.writeInt(examiner.getIntAt(i, value));
+                    break;
+                case LONG:
+                    output.writeLong(examiner.getLongAt(i, value));
+                    break;
+                case DOUBLE:
+                    output.writeDouble(examiner.getDoubleAt(i, value));
+                    break;
+                case BOOLEAN:
+                    output.write(examiner.getBooleanAt(i, value) ? "true" : "false");
+                    break;
+                default:
+                    throw new UnsupportedValueException("Unsupported primitive kind: " + kind);
+            }
+        }
     }
 
     private void writeValue(CharOutput output, Set<Object> writtenRefs, Object value, ValueExaminer examiner, boolean wrap) {
@@ -215,6 +331,9 @@ public class TextEncoder {
         else if (argument instanceof Character) {
             writeChar((Character) argument, output, wrap);
         }
+        else if (argument instanceof byte[] || argument instanceof ByteBuffer) {
+            writeBinary(argument, output, wrap);
+        }
         else if (argument instanceof List) {
             writeArguments(output, writtenRefs, (List<?>)argument, wrap);
         } else {
@@ -242,7 +361,7 @@ public class TextEncoder {
         }
     }
 
-    private static void writeReference(CharOutput output, String reference) {
+    static void writeReference(CharOutput output, String reference) {
         output.write('<');
         writeString(output, reference);
         output.write('>');
@@ -262,15 +381,46 @@ public class TextEncoder {
     }
 
     private static void writeNumber(Number value, CharOutput output, boolean wrap) {
-        var code = String.valueOf(value);
         if (wrap) {
             output.write('(');
-            output.write(code);
+            writeNumber(value, output);
             output.write(')');
         }
         else {
-            output.write(code);
+            writeNumber(value, output);
+        }
+    }
+
+    static void writeNumber(Number value, CharOutput output) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            output.writeInt(value.intValue());
         }
+        else if (value instanceof Long) {
+            output.writeLong(value.longValue());
+        }
+        else if (value instanceof Double) {
+            output.writeDouble(value.doubleValue());
+        }
+        else if (value instanceof Float) {
+            output.writeFloat(value.floatValue());
+        }
+        else {
+            output.write(String.valueOf(value));
+        }
+    }
+
+    // Base64 chars never need escaping
+    static void writeBinary(Object value, CharOutput output, boolean wrap) {
+        output.write(wrap ? "(\"" : "\"");
+
+        if (value instanceof byte[]) {
+            Base64Chars.write(output, (byte[])value);
+        }
+        else {
+            Base64Chars.write(output, (ByteBuffer)value);
+        }
+
+        output.write(wrap ? "\")" : "\"");
     }
 
     private static void writeBoolean(boolean value, CharOutput output, boolean wrap) {
@@ -293,7 +443,7 @@ public class TextEncoder {
         }
     }
 
-    private static void writeString(CharOutput output, String value) {
+    static void writeString(CharOutput output, String value) {
         if (value.matches("[a-zA-Z0-9_./+-]+")) {
             output.write(value);
         }
@@ -29,4 +29,36 @@ public interface CharInput {
         }
         pull();
     }
+
+    // Bulk operations, inputs backed by arrays should override them
+
+    default int skipWhile(CharPredicate predicate) {
+        var count = 0;
+
+        while (isAlive() && predicate.test(peek())) {
+            pull();
+            count++;
+        }
+
+        return count;
+    }
+
+    default int pullWhile(CharPredicate predicate, StringBuilder target) {
+        var count = 0;
+
+        while (isAlive() && predicate.test(peek())) {
+            target.append(pull());
+            count++;
+        }
+
+        return count;
+    }
+
+    default String pullWhile(CharPredicate predicate) {
+        var buffer = new StringBuilder();
+
+        pullWhile(predicate, buffer);
+
+        return buffer.toString();
+    }
 }
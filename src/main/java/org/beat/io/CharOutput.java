@@ -1,9 +1,27 @@
 package org.beat.io;
 
+import org.beat.util.NumberFormatter;
+
 public interface CharOutput {
     void write(char value);
     void write(CharSequence value);
     void space();
     void line();
     void indent(int delta);
+
+    default void writeInt(int value) {
+        NumberFormatter.writeInt(this, value);
+    }
+
+    default void writeLong(long value) {
+        NumberFormatter.writeLong(this, value);
+    }
+
+    default void writeDouble(double value) {
+        NumberFormatter.writeDouble(this, value);
+    }
+
+    default void writeFloat(float value) {
+        NumberFormatter.writeFloat(this, value);
+    }
 }
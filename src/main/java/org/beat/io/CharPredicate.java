@@ -0,0 +1,6 @@
+package org.beat.io;
+
+@FunctionalInterface
+public interface CharPredicate {
+    boolean test(char c);
+}
@@ -0,0 +1,46 @@
+package org.beat.io.standard;
+
+public class ArrayInput extends IndexedInput {
+
+    private final char[] data;
+
+    public ArrayInput(char[] data) {
+        this(data, 0, data.length, null);
+    }
+
+    public ArrayInput(char[] data, String resource) {
+        this(data, 0, data.length, resource);
+    }
+
+    public ArrayInput(char[] data, int offset, int length) {
+        this(data, offset, length, null);
+    }
+
+    public ArrayInput(char[] data, int offset, int length, String resource) {
+        super(offset, checkRegion(data, offset, length), resource);
+        this.data = data;
+    }
+
+    private static int checkRegion(char[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IndexOutOfBoundsException("Invalid region: offset " + offset + ", length " + length);
+        }
+        return offset + length;
+    }
+
+    @Override
+    protected char charAt(int index) {
+        return data[index];
+    }
+
+    @Override
+    protected void append(StringBuilder target, int begin, int end) {
+        target.append(data, begin, end - begin);
+    }
+
+    @Override
+    protected String substring(int begin, int end) {
+        return new String(data, begin, end - begin);
+    }
+
+}
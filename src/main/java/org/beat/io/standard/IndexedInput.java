@@ -0,0 +1,136 @@
+package org.beat.io.standard;
+
+import org.beat.errors.InvalidSyntaxException;
+import org.beat.io.CharInput;
+import org.beat.io.CharPredicate;
+import org.beat.io.TextLocation;
+import org.beat.util.PP;
+
+// Inputs with random access to their chars, subclasses only provide the
+// char at an index and how to copy a region.
+public abstract class IndexedInput implements CharInput {
+
+    private final int start;
+    private final int end;
+    private final String resource;
+
+    private int position;
+
+    protected IndexedInput(int start, int end, String resource) {
+        this.start = start;
+        this.end = end;
+        this.resource = resource;
+        this.position = start;
+    }
+
+    protected abstract char charAt(int index);
+
+    protected abstract void append(StringBuilder target, int begin, int end);
+
+    protected String substring(int begin, int end) {
+        var buffer = new StringBuilder(end - begin);
+
+        append(buffer, begin, end);
+
+        return buffer.toString();
+    }
+
+    @Override
+    public boolean isAlive() {
+        return position < end;
+    }
+
+    @Override
+    public char pull() {
+        if (position < end) {
+            return charAt(position++);
+        }
+
+        return '\0';
+    }
+
+    @Override
+    public char peek() {
+        if (position < end) {
+            return charAt(position);
+        }
+
+        return '\0';
+    }
+
+    @Override
+    public boolean peek(char c) {
+        return position < end && charAt(position) == c;
+    }
+
+    @Override
+    public boolean tryPull(char c) {
+        if (position < end && charAt(position) == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void expect(char expected) {
+        if (position < end && charAt(position) == expected) {
+            position++;
+            return;
+        }
+        throw new InvalidSyntaxException("Expected char " + PP.str(expected) + " instead of " + PP.str(peek()) + ".", getLocation());
+    }
+
+    @Override
+    public int skipWhile(CharPredicate predicate) {
+        var begin = position;
+        var i = position;
+
+        while (i < end && predicate.test(charAt(i))) {
+            i++;
+        }
+
+        position = i;
+
+        return i - begin;
+    }
+
+    @Override
+    public int pullWhile(CharPredicate predicate, StringBuilder target) {
+        var begin = position;
+        var count = skipWhile(predicate);
+
+        append(target, begin, position);
+
+        return count;
+    }
+
+    @Override
+    public String pullWhile(CharPredicate predicate) {
+        var begin = position;
+
+        skipWhile(predicate);
+
+        return substring(begin, position);
+    }
+
+    @Override
+    public TextLocation getLocation() {
+        // Lines are only counted when a location is requested
+        var line = 1;
+        var column = 1;
+
+        for (var i = start; i < position; i++) {
+            if (charAt(i) == '\n') {
+                line++;
+                column = 1;
+            }
+            else {
+                column++;
+            }
+        }
+
+        return new TextLocation(line, column, resource);
+    }
+
+}
@@ -2,89 +2,187 @@ package org.beat.io.standard;
 
 import org.beat.errors.BeatException;
 import org.beat.io.CharInput;
+import org.beat.io.CharPredicate;
 import org.beat.io.TextLocation;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.Reader;
 
-public class ReaderInput implements CharInput {
+public class ReaderInput implements CharInput, Closeable {
+
+    public static final int DEFAULT_BLOCK_SIZE = 8192;
 
     private final String resource;
     private final Reader reader;
+    private final char[] block;
 
-    private Character buffer;
+    private int position;
+    private int limit;
+    private boolean finished;
     private int line;
     private int column;
 
     public ReaderInput(Reader reader) {
-        this(reader, null);
+        this(reader, null, DEFAULT_BLOCK_SIZE);
     }
 
     public ReaderInput(Reader reader, String resource) {
+        this(reader, resource, DEFAULT_BLOCK_SIZE);
+    }
+
+    public ReaderInput(Reader reader, String resource, int blockSize) {
+        if (blockSize <= 0) {
+            throw new BeatException("Block size must be positive: " + blockSize);
+        }
         this.resource = resource;
         this.reader = reader;
+        this.block = new char[blockSize];
     }
 
-    private Character load() {
-        if (buffer == null) {
-            int c;
+    private boolean load() {
+        if (position < limit) {
+            return true;
+        }
+        else if (finished) {
+            return false;
+        }
 
-            try {
-                c = reader.read();
-            }
-            catch (IOException e) {
-                throw new BeatException(e);
-            }
+        int count;
 
-            if (c == -1) {
-                return null;
-            }
-            else if (c == '\n') {
-                line++;
-                column = 0;
-            }
-            else {
-                column++;
+        try {
+            // Readers are allowed to return 0 chars, keep asking until data or EOF
+            do {
+                count = reader.read(block, 0, block.length);
             }
+            while (count == 0);
+        }
+        catch (IOException e) {
+            throw new BeatException(e);
+        }
 
-            buffer = (char)c;
+        if (count == -1) {
+            finished = true;
+            position = 0;
+            limit = 0;
+            return false;
         }
 
-        return buffer;
+        position = 0;
+        limit = count;
+        return true;
     }
 
     @Override
     public boolean isAlive() {
-        return load() != null;
+        return load();
     }
 
     @Override
     public char pull() {
-        var c = load();
+        if (!load()) {
+            return '\0';
+        }
 
-        if (c == null) {
-            throw new BeatException();
+        var c = block[position];
+
+        if (c == '\n') {
+            line++;
+            column = 0;
+        }
+        else {
+            column++;
         }
 
-        buffer = null;
+        position++;
 
         return c;
     }
 
     @Override
     public char peek() {
-        var c = load();
+        if (!load()) {
+            return '\0';
+        }
+
+        return block[position];
+    }
 
-        if (c == null) {
-            throw new BeatException();
+    @Override
+    public int skipWhile(CharPredicate predicate) {
+        var count = 0;
+
+        while (load()) {
+            var i = position;
+
+            while (i < limit && predicate.test(block[i])) {
+                i++;
+            }
+
+            count += advance(i);
+
+            if (i < limit) {
+                break;
+            }
         }
 
-        return c;
+        return count;
+    }
+
+    @Override
+    public int pullWhile(CharPredicate predicate, StringBuilder target) {
+        var count = 0;
+
+        while (load()) {
+            var i = position;
+
+            while (i < limit && predicate.test(block[i])) {
+                i++;
+            }
+
+            target.append(block, position, i - position);
+
+            count += advance(i);
+
+            if (i < limit) {
+                break;
+            }
+        }
+
+        return count;
+    }
+
+    private int advance(int target) {
+        var count = target - position;
+
+        for (var i = position; i < target; i++) {
+            if (block[i] == '\n') {
+                line++;
+                column = 0;
+            }
+            else {
+                column++;
+            }
+        }
+
+        position = target;
+
+        return count;
     }
 
     @Override
     public TextLocation getLocation() {
-        return new TextLocation(line, column, resource);
+        return new TextLocation(line + 1, column + 1, resource);
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        }
+        catch (IOException e) {
+            throw new BeatException(e);
+        }
     }
 
 }
@@ -0,0 +1,31 @@
+package org.beat.io.standard;
+
+public class StringInput extends IndexedInput {
+
+    private final String text;
+
+    public StringInput(String text) {
+        this(text, null);
+    }
+
+    public StringInput(String text, String resource) {
+        super(0, text.length(), resource);
+        this.text = text;
+    }
+
+    @Override
+    protected char charAt(int index) {
+        return text.charAt(index);
+    }
+
+    @Override
+    protected void append(StringBuilder target, int begin, int end) {
+        target.append(text, begin, end);
+    }
+
+    @Override
+    protected String substring(int begin, int end) {
+        return text.substring(begin, end);
+    }
+
+}
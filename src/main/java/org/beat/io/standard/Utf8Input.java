@@ -0,0 +1,432 @@
+package org.beat.io.standard;
+
+import org.beat.errors.BeatException;
+import org.beat.io.CharInput;
+import org.beat.io.CharPredicate;
+import org.beat.io.TextLocation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Lexes UTF-8 bytes directly, ASCII bytes are used as chars and only
+// multibyte sequences are decoded. Malformed sequences become U+FFFD.
+public class Utf8Input implements CharInput, Closeable {
+
+    public static final int DEFAULT_BLOCK_SIZE = 8192;
+
+    // A single mapping cannot be larger than 2 GB
+    private static final long MAX_SEGMENT_SIZE = 1L << 30;
+
+    private static final char REPLACEMENT = '\uFFFD';
+
+    private final String resource;
+
+    // Only one of them is set when the bytes are not all in the block
+    private final InputStream stream;
+    private final ByteBuffer[] segments;
+
+    private int segmentIndex;
+
+    private byte[] block;
+    private int position;
+    private int limit;
+    private boolean exhausted;
+
+    // Second half of a supplementary char
+    private char lowSurrogate;
+
+    // Length of the last decoded sequence
+    private int sequenceLength;
+
+    private int line;
+    private int column;
+
+    public Utf8Input(byte[] data) {
+        this(data, 0, data.length, null);
+    }
+
+    public Utf8Input(byte[] data, int offset, int length, String resource) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IndexOutOfBoundsException("Invalid region: offset " + offset + ", length " + length);
+        }
+        this.resource = resource;
+        this.stream = null;
+        this.segments = null;
+        this.block = data;
+        this.position = offset;
+        this.limit = offset + length;
+        this.exhausted = true;
+    }
+
+    public Utf8Input(ByteBuffer buffer) {
+        this(buffer, null);
+    }
+
+    // The position of the buffer is not changed, heap buffers are read in
+    // place and direct buffers are copied one block at a time.
+    public Utf8Input(ByteBuffer buffer, String resource) {
+        this.resource = resource;
+        this.stream = null;
+
+        if (buffer.hasArray()) {
+            this.segments = null;
+            this.block = buffer.array();
+            this.position = buffer.arrayOffset() + buffer.position();
+            this.limit = buffer.arrayOffset() + buffer.limit();
+            this.exhausted = true;
+        }
+        else {
+            this.segments = new ByteBuffer[] {buffer.duplicate()};
+            this.block = new byte[DEFAULT_BLOCK_SIZE];
+        }
+    }
+
+    // Consecutive buffers are read as one input, like the segments of a mapped file
+    public Utf8Input(ByteBuffer[] segments, String resource) {
+        this.resource = resource;
+        this.stream = null;
+        this.segments = new ByteBuffer[segments.length];
+        this.block = new byte[DEFAULT_BLOCK_SIZE];
+
+        for (var i = 0; i < segments.length; i++) {
+            this.segments[i] = segments[i].duplicate();
+        }
+    }
+
+    // Pages of the file are only loaded when the decoder reaches them
+    public static Utf8Input mapFile(Path path) {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var size = channel.size();
+            var segments = new ByteBuffer[(int)((size + MAX_SEGMENT_SIZE - 1) / MAX_SEGMENT_SIZE)];
+
+            for (var i = 0; i < segments.length; i++) {
+                var offset = i * MAX_SEGMENT_SIZE;
+
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(MAX_SEGMENT_SIZE, size - offset));
+            }
+
+            return new Utf8Input(segments, path.toString());
+        }
+        catch (IOException e) {
+            throw new BeatException(e);
+        }
+    }
+
+    public Utf8Input(InputStream stream) {
+        this(stream, null, DEFAULT_BLOCK_SIZE);
+    }
+
+    public Utf8Input(InputStream stream, String resource, int blockSize) {
+        if (blockSize < 4) {
+            throw new BeatException("Block size must be at least 4: " + blockSize);
+        }
+        this.resource = resource;
+        this.stream = stream;
+        this.segments = null;
+        this.block = new byte[blockSize];
+    }
+
+    @Override
+    public boolean isAlive() {
+        return lowSurrogate != 0 || load(1);
+    }
+
+    @Override
+    public char pull() {
+        if (lowSurrogate != 0) {
+            var c = lowSurrogate;
+            lowSurrogate = 0;
+            column++;
+            return c;
+        }
+        else if (!load(1)) {
+            return '\0';
+        }
+
+        var b = block[position];
+
+        if (b >= 0) {
+            position++;
+            count((char)b);
+            return (char)b;
+        }
+
+        var code = decode();
+
+        position += sequenceLength;
+        column++;
+
+        if (code >= 0x10000) {
+            lowSurrogate = Character.lowSurrogate(code);
+            return Character.highSurrogate(code);
+        }
+
+        return (char)code;
+    }
+
+    @Override
+    public char peek() {
+        if (lowSurrogate != 0) {
+            return lowSurrogate;
+        }
+        else if (!load(1)) {
+            return '\0';
+        }
+
+        var b = block[position];
+
+        if (b >= 0) {
+            return (char)b;
+        }
+
+        var code = decode();
+
+        return code >= 0x10000 ? Character.highSurrogate(code) : (char)code;
+    }
+
+    @Override
+    public int skipWhile(CharPredicate predicate) {
+        return scanWhile(predicate, null);
+    }
+
+    @Override
+    public int pullWhile(CharPredicate predicate, StringBuilder target) {
+        return scanWhile(predicate, target);
+    }
+
+    // A run of ASCII chars in the same block becomes a Latin-1 string
+    @Override
+    public String pullWhile(CharPredicate predicate) {
+        if (lowSurrogate == 0 && load(1)) {
+            var begin = position;
+            var i = position;
+
+            while (i < limit && block[i] >= 0 && predicate.test((char)block[i])) {
+                i++;
+            }
+
+            if ((i < limit && block[i] >= 0) || (i == limit && exhausted)) {
+                advance(begin, i);
+                return new String(block, begin, i - begin, StandardCharsets.ISO_8859_1);
+            }
+        }
+
+        var buffer = new StringBuilder();
+
+        scanWhile(predicate, buffer);
+
+        return buffer.toString();
+    }
+
+    @Override
+    public TextLocation getLocation() {
+        return new TextLocation(line + 1, column + 1, resource);
+    }
+
+    @Override
+    public void close() {
+        if (segments != null) {
+            // Drops the buffers so the pages of a mapped file can be released
+            Arrays.fill(segments, null);
+            segmentIndex = segments.length;
+        }
+        if (stream != null) {
+            try {
+                stream.close();
+            }
+            catch (IOException e) {
+                throw new BeatException(e);
+            }
+        }
+    }
+
+    // PRIVATE
+
+    private int scanWhile(CharPredicate predicate, StringBuilder target) {
+        var count = 0;
+
+        while (true) {
+            if (lowSurrogate == 0) {
+                // ASCII bytes of the current block
+                var begin = position;
+                var i = position;
+
+                while (i < limit) {
+                    var b = block[i];
+
+                    if (b < 0 || !predicate.test((char)b)) {
+                        break;
+                    }
+
+                    i++;
+                }
+
+                if (target != null) {
+                    for (var j = begin; j < i; j++) {
+                        target.append((char)block[j]);
+                    }
+                }
+
+                count += advance(begin, i);
+
+                if (i < limit && block[i] >= 0) {
+                    return count;
+                }
+            }
+
+            // The end of the block or a multibyte char
+            if (!isAlive() || !predicate.test(peek())) {
+                return count;
+            }
+
+            var c = pull();
+
+            if (target != null) {
+                target.append(c);
+            }
+
+            count++;
+        }
+    }
+
+    private int advance(int begin, int end) {
+        for (var i = begin; i < end; i++) {
+            count((char)block[i]);
+        }
+
+        position = end;
+
+        return end - begin;
+    }
+
+    private void count(char c) {
+        if (c == '\n') {
+            line++;
+            column = 0;
+        }
+        else {
+            column++;
+        }
+    }
+
+    // Decodes the sequence at the position without consuming it
+    private int decode() {
+        var b0 = block[position] & 0xFF;
+        int length;
+        int code;
+        int min;
+
+        if (b0 >= 0xC2 && b0 <= 0xDF) {
+            length = 2;
+            code = b0 & 0x1F;
+            min = 0x80;
+        }
+        else if (b0 >= 0xE0 && b0 <= 0xEF) {
+            length = 3;
+            code = b0 & 0x0F;
+            min = 0x800;
+        }
+        else if (b0 >= 0xF0 && b0 <= 0xF4) {
+            length = 4;
+            code = b0 & 0x07;
+            min = 0x10000;
+        }
+        else {
+            sequenceLength = 1;
+            return REPLACEMENT;
+        }
+
+        if (!load(length)) {
+            sequenceLength = 1;
+            return REPLACEMENT;
+        }
+
+        for (var i = 1; i < length; i++) {
+            var b = (position + i < limit ? block[position + i] : 0);
+
+            if ((b & 0xC0) != 0x80) {
+                sequenceLength = i;
+                return REPLACEMENT;
+            }
+
+            code = (code << 6) | (b & 0x3F);
+        }
+
+        if (code < min || code > Character.MAX_CODE_POINT
+                || (code >= Character.MIN_SURROGATE && code <= Character.MAX_SURROGATE)) {
+            sequenceLength = length;
+            return REPLACEMENT;
+        }
+
+        sequenceLength = length;
+        return code;
+    }
+
+    // Makes the next bytes available, returns false when there are none
+    private boolean load(int count) {
+        if (limit - position >= count || exhausted) {
+            return position < limit;
+        }
+
+        var remaining = limit - position;
+
+        System.arraycopy(block, position, block, 0, remaining);
+
+        position = 0;
+        limit = remaining;
+
+        while (limit < count && !exhausted) {
+            fill();
+        }
+
+        return position < limit;
+    }
+
+    private void fill() {
+        if (segments != null) {
+            while (segmentIndex < segments.length && !segments[segmentIndex].hasRemaining()) {
+                segmentIndex++;
+            }
+
+            if (segmentIndex == segments.length) {
+                exhausted = true;
+                return;
+            }
+
+            var segment = segments[segmentIndex];
+            var length = Math.min(segment.remaining(), block.length - limit);
+
+            segment.get(block, limit, length);
+            limit += length;
+            return;
+        }
+
+        int length;
+
+        try {
+            // Streams are allowed to return 0 bytes, keep asking until data or EOF
+            do {
+                length = stream.read(block, limit, block.length - limit);
+            }
+            while (length == 0);
+        }
+        catch (IOException e) {
+            throw new BeatException(e);
+        }
+
+        if (length == -1) {
+            exhausted = true;
+        }
+        else {
+            limit += length;
+        }
+    }
+
+}
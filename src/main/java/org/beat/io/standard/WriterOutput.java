@@ -0,0 +1,145 @@
+package org.beat.io.standard;
+
+import org.beat.errors.BeatException;
+import org.beat.io.CharOutput;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// Chars are collected in a block that is written to the writer when full,
+// flush() must be called to write the rest.
+public class WriterOutput implements CharOutput, Flushable, Closeable {
+
+    public static final int DEFAULT_BLOCK_SIZE = 8192;
+
+    private final Writer writer;
+    private final boolean prettyPrint;
+    private final char[] block;
+
+    private int position;
+    private int tabs;
+
+    public WriterOutput(Writer writer) {
+        this(writer, false, DEFAULT_BLOCK_SIZE);
+    }
+
+    public WriterOutput(Writer writer, boolean prettyPrint) {
+        this(writer, prettyPrint, DEFAULT_BLOCK_SIZE);
+    }
+
+    public WriterOutput(OutputStream stream, boolean prettyPrint) {
+        this(new OutputStreamWriter(stream, StandardCharsets.UTF_8), prettyPrint, DEFAULT_BLOCK_SIZE);
+    }
+
+    public WriterOutput(Writer writer, boolean prettyPrint, int blockSize) {
+        if (blockSize <= 0) {
+            throw new BeatException("Block size must be positive: " + blockSize);
+        }
+        this.writer = writer;
+        this.prettyPrint = prettyPrint;
+        this.block = new char[blockSize];
+    }
+
+    @Override
+    public void write(char value) {
+        if (position == block.length) {
+            flushBlock();
+        }
+
+        block[position++] = value;
+    }
+
+    @Override
+    public void write(CharSequence value) {
+        var length = value.length();
+        var offset = 0;
+
+        while (offset < length) {
+            if (position == block.length) {
+                flushBlock();
+            }
+
+            var count = Math.min(length - offset, block.length - position);
+
+            if (value instanceof String) {
+                ((String)value).getChars(offset, offset + count, block, position);
+            }
+            else {
+                for (var i = 0; i < count; i++) {
+                    block[position + i] = value.charAt(offset + i);
+                }
+            }
+
+            position += count;
+            offset += count;
+        }
+    }
+
+    @Override
+    public void space() {
+        if (prettyPrint) {
+            write(' ');
+        }
+    }
+
+    @Override
+    public void line() {
+        if (prettyPrint) {
+            write('\n');
+
+            for (var i = 0; i < tabs; i++) {
+                write("  ");
+            }
+        }
+    }
+
+    @Override
+    public void indent(int delta) {
+        tabs += delta;
+    }
+
+    @Override
+    public void flush() {
+        flushBlock();
+
+        try {
+            writer.flush();
+        }
+        catch (IOException e) {
+            throw new BeatException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        flushBlock();
+
+        try {
+            writer.close();
+        }
+        catch (IOException e) {
+            throw new BeatException(e);
+        }
+    }
+
+    private void flushBlock() {
+        if (position == 0) {
+            return;
+        }
+
+        try {
+            writer.write(block, 0, position);
+        }
+        catch (IOException e) {
+            throw new BeatException(e);
+        }
+
+        position = 0;
+    }
+
+}
@@ -0,0 +1,11 @@
+package org.beat.producers;
+
+import java.lang.reflect.Type;
+
+public interface ObjectSlot {
+    String getKey();
+
+    Type getTypeHint();
+
+    void set(Object instance, Object value);
+}
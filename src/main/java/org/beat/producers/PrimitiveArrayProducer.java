@@ -0,0 +1,17 @@
+package org.beat.producers;
+
+import org.beat.examiners.PrimitiveKind;
+
+// Collects primitive items without boxing, the typed adders box and call
+// add when the kind does not match.
+public interface PrimitiveArrayProducer extends ArrayProducer {
+    PrimitiveKind getKind();
+
+    void addInt(Object instance, int item);
+
+    void addLong(Object instance, long item);
+
+    void addDouble(Object instance, double item);
+
+    void addBoolean(Object instance, boolean item);
+}
@@ -0,0 +1,6 @@
+package org.beat.producers;
+
+public interface PrimitiveObjectProducer extends SlottedObjectProducer {
+    @Override
+    PrimitiveObjectSlot findSlot(CharSequence key, ObjectSlot previous);
+}
@@ -0,0 +1,17 @@
+package org.beat.producers;
+
+import org.beat.examiners.PrimitiveKind;
+
+// Assigns primitive values without boxing, the typed setters box and call
+// set when the kind does not match.
+public interface PrimitiveObjectSlot extends ObjectSlot {
+    PrimitiveKind getKind();
+
+    void setInt(Object instance, int value);
+
+    void setLong(Object instance, long value);
+
+    void setDouble(Object instance, double value);
+
+    void setBoolean(Object instance, boolean value);
+}
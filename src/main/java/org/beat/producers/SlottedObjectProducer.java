@@ -0,0 +1,6 @@
+package org.beat.producers;
+
+public interface SlottedObjectProducer extends ObjectProducer {
+    // The previous slot is used to guess the next key, null if there is no slot for the key
+    ObjectSlot findSlot(CharSequence key, ObjectSlot previous);
+}
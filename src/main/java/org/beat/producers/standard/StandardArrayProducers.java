@@ -1,12 +1,16 @@
 package org.beat.producers.standard;
 
 import org.beat.producers.ArrayProducer;
+import org.beat.producers.standard.array.ArrayInstanceProducer;
 import org.beat.producers.standard.array.ClassListProducer;
 import org.beat.producers.standard.array.DefaultListProducer;
 import org.beat.producers.standard.array.DefaultTypedListProducer;
 import org.beat.producers.standard.array.HardTypedListProducer;
+import org.beat.producers.standard.array.PrimitiveArrayInstanceProducer;
 import org.beat.util.ReflectUtils;
 
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.List;
@@ -40,7 +44,24 @@ public class StandardArrayProducers {
             if (List.class.isAssignableFrom(typeClass) && ReflectUtils.canInstantiate(typeClass)) {
                 return new ClassListProducer(typeClass);
             }
-            // TODO add array classes case
+            else if (typeClass.isArray()) {
+                var componentType = typeClass.getComponentType();
+                var primitive = PrimitiveArrayInstanceProducer.create(componentType);
+
+                if (primitive != null) {
+                    return primitive;
+                }
+
+                return new ArrayInstanceProducer(componentType);
+            }
+        }
+        else if (typeHint instanceof GenericArrayType) {
+            var componentTypeHint = ((GenericArrayType)typeHint).getGenericComponentType();
+            var componentType = rawClass(componentTypeHint);
+
+            if (componentType != null) {
+                return new ArrayInstanceProducer(componentType, componentTypeHint);
+            }
         }
 
         if (typeName == null || useCleanDefaultTypes) {
@@ -48,4 +69,19 @@ public class StandardArrayProducers {
         }
         return new DefaultTypedListProducer(typeName);
     }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>)type;
+        }
+        else if (type instanceof ParameterizedType) {
+            return rawClass(((ParameterizedType)type).getRawType());
+        }
+        else if (type instanceof GenericArrayType) {
+            var componentType = rawClass(((GenericArrayType)type).getGenericComponentType());
+
+            return componentType != null ? Array.newInstance(componentType, 0).getClass() : null;
+        }
+        return null;
+    }
 }
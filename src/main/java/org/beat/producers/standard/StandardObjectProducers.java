@@ -1,5 +1,6 @@
 package org.beat.producers.standard;
 
+import org.beat.codecs.standard.GeneratedCodecs;
 import org.beat.producers.ObjectProducer;
 import org.beat.producers.standard.object.ClassObjectProducer;
 import org.beat.producers.standard.object.DefaultObjectProducer;
@@ -29,6 +30,12 @@ public class StandardObjectProducers {
                 return MapObjectProducer.INSTANCE;
             }
 
+            var codec = GeneratedCodecs.find(typeClass, typeName);
+
+            if (codec != null) {
+                return codec;
+            }
+
             if (ReflectUtils.canInstantiate(typeClass)) {
                 return new ClassObjectProducer(typeClass);
             }
@@ -1,12 +1,14 @@
 package org.beat.producers.standard;
 
 import org.beat.producers.ValueProducer;
+import org.beat.producers.standard.value.BinaryProducer;
 import org.beat.producers.standard.value.ClassEnumProducer;
 import org.beat.producers.standard.value.DefaultTypedValueProducer;
 import org.beat.producers.standard.value.DefaultValueProducer;
 import org.beat.producers.standard.value.IntegerProducer;
 
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 
 
 public class StandardValueProducers {
@@ -26,6 +28,12 @@ public class StandardValueProducers {
             else if (typeClass.isEnum()) {
                 return new ClassEnumProducer(typeClass);
             }
+            else if (typeClass == byte[].class) {
+                return BinaryProducer.BYTES_INSTANCE;
+            }
+            else if (typeClass == ByteBuffer.class) {
+                return BinaryProducer.BUFFER_INSTANCE;
+            }
         }
 
         if (typeName == null || useCleanDefaultTypes) {
@@ -0,0 +1,67 @@
+package org.beat.producers.standard.array;
+
+import org.beat.errors.BeatException;
+import org.beat.errors.ConversionException;
+import org.beat.producers.ArrayProducer;
+import org.beat.util.PP;
+import org.beat.util.ReflectUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+
+// Any other array, items are converted to the component type when added
+public class ArrayInstanceProducer implements ArrayProducer {
+
+    private final Class<?> componentType;
+    private final Type componentTypeHint;
+
+    public ArrayInstanceProducer(Class<?> componentType) {
+        this(componentType, componentType);
+    }
+
+    public ArrayInstanceProducer(Class<?> componentType, Type componentTypeHint) {
+        this.componentType = componentType;
+        this.componentTypeHint = componentTypeHint;
+    }
+
+    @Override
+    public Object beginInstance() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public void add(Object instance, Object item) {
+        Object value;
+
+        try {
+            value = ReflectUtils.convertTo(item, componentType);
+        }
+        catch (ConversionException e) {
+            throw new BeatException(PP.type(componentType) + "[]: " + e.getMessage(), e);
+        }
+
+        HardTypedListProducer.forcedAdd((ArrayList<?>)instance, value);
+    }
+
+    @Override
+    public Type getComponentTypeHint() {
+        return componentTypeHint;
+    }
+
+    @Override
+    public Object endInstance(Object instance) {
+        var items = (ArrayList<?>)instance;
+        var array = Array.newInstance(componentType, items.size());
+
+        if (componentType.isPrimitive()) {
+            for (var i = 0; i < items.size(); i++) {
+                Array.set(array, i, items.get(i));
+            }
+
+            return array;
+        }
+
+        return items.toArray((Object[])array);
+    }
+}
@@ -0,0 +1,244 @@
+package org.beat.producers.standard.array;
+
+import org.beat.errors.BeatException;
+import org.beat.errors.ConversionException;
+import org.beat.examiners.PrimitiveKind;
+import org.beat.producers.PrimitiveArrayProducer;
+import org.beat.util.PP;
+import org.beat.util.ReflectUtils;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+
+// Items are collected in a growing buffer and copied to an array of the
+// exact size at the end.
+public abstract class PrimitiveArrayInstanceProducer implements PrimitiveArrayProducer {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    public static PrimitiveArrayInstanceProducer create(Class<?> componentType) {
+        if (componentType == int.class) {
+            return new IntArrayProducer();
+        }
+        else if (componentType == long.class) {
+            return new LongArrayProducer();
+        }
+        else if (componentType == double.class) {
+            return new DoubleArrayProducer();
+        }
+        else if (componentType == boolean.class) {
+            return new BooleanArrayProducer();
+        }
+        return null;
+    }
+
+    @Override
+    public void addInt(Object instance, int item) {
+        add(instance, item);
+    }
+
+    @Override
+    public void addLong(Object instance, long item) {
+        add(instance, item);
+    }
+
+    @Override
+    public void addDouble(Object instance, double item) {
+        add(instance, item);
+    }
+
+    @Override
+    public void addBoolean(Object instance, boolean item) {
+        add(instance, item);
+    }
+
+    // Same context as the converting array producers
+    private static Object convert(Object item, Class<?> componentType) {
+        try {
+            return ReflectUtils.convertTo(item, componentType);
+        }
+        catch (ConversionException e) {
+            throw new BeatException(PP.type(componentType) + "[]: " + e.getMessage(), e);
+        }
+    }
+
+    private static class IntArrayProducer extends PrimitiveArrayInstanceProducer {
+        @Override
+        public PrimitiveKind getKind() {
+            return PrimitiveKind.INT;
+        }
+
+        @Override
+        public Object beginInstance() {
+            return new IntItems();
+        }
+
+        @Override
+        public void add(Object instance, Object item) {
+            addInt(instance, (Integer)convert(item, int.class));
+        }
+
+        @Override
+        public void addInt(Object instance, int item) {
+            var items = (IntItems)instance;
+
+            if (items.size == items.values.length) {
+                items.values = Arrays.copyOf(items.values, items.size * 2);
+            }
+
+            items.values[items.size++] = item;
+        }
+
+        @Override
+        public Type getComponentTypeHint() {
+            return int.class;
+        }
+
+        @Override
+        public Object endInstance(Object instance) {
+            var items = (IntItems)instance;
+
+            return Arrays.copyOf(items.values, items.size);
+        }
+    }
+
+    private static class LongArrayProducer extends PrimitiveArrayInstanceProducer {
+        @Override
+        public PrimitiveKind getKind() {
+            return PrimitiveKind.LONG;
+        }
+
+        @Override
+        public Object beginInstance() {
+            return new LongItems();
+        }
+
+        @Override
+        public void add(Object instance, Object item) {
+            addLong(instance, (Long)convert(item, long.class));
+        }
+
+        @Override
+        public void addLong(Object instance, long item) {
+            var items = (LongItems)instance;
+
+            if (items.size == items.values.length) {
+                items.values = Arrays.copyOf(items.values, items.size * 2);
+            }
+
+            items.values[items.size++] = item;
+        }
+
+        @Override
+        public Type getComponentTypeHint() {
+            return long.class;
+        }
+
+        @Override
+        public Object endInstance(Object instance) {
+            var items = (LongItems)instance;
+
+            return Arrays.copyOf(items.values, items.size);
+        }
+    }
+
+    private static class DoubleArrayProducer extends PrimitiveArrayInstanceProducer {
+        @Override
+        public PrimitiveKind getKind() {
+            return PrimitiveKind.DOUBLE;
+        }
+
+        @Override
+        public Object beginInstance() {
+            return new DoubleItems();
+        }
+
+        @Override
+        public void add(Object instance, Object item) {
+            addDouble(instance, (Double)convert(item, double.class));
+        }
+
+        @Override
+        public void addDouble(Object instance, double item) {
+            var items = (DoubleItems)instance;
+
+            if (items.size == items.values.length) {
+                items.values = Arrays.copyOf(items.values, items.size * 2);
+            }
+
+            items.values[items.size++] = item;
+        }
+
+        @Override
+        public Type getComponentTypeHint() {
+            return double.class;
+        }
+
+        @Override
+        public Object endInstance(Object instance) {
+            var items = (DoubleItems)instance;
+
+            return Arrays.copyOf(items.values, items.size);
+        }
+    }
+
+    private static class BooleanArrayProducer extends PrimitiveArrayInstanceProducer {
+        @Override
+        public PrimitiveKind getKind() {
+            return PrimitiveKind.BOOLEAN;
+        }
+
+        @Override
+        public Object beginInstance() {
+            return new BooleanItems();
+        }
+
+        @Override
+        public void add(Object instance, Object item) {
+            addBoolean(instance, (Boolean)convert(item, boolean.class));
+        }
+
+        @Override
+        public void addBoolean(Object instance, boolean item) {
+            var items = (BooleanItems)instance;
+
+            if (items.size == items.values.length) {
+                items.values = Arrays.copyOf(items.values, items.size * 2);
+            }
+
+            items.values[items.size++] = item;
+        }
+
+        @Override
+        public Type getComponentTypeHint() {
+            return boolean.class;
+        }
+
+        @Override
+        public Object endInstance(Object instance) {
+            var items = (BooleanItems)instance;
+
+            return Arrays.copyOf(items.values, items.size);
+        }
+    }
+
+    private static class IntItems {
+        int[] values = new int[INITIAL_CAPACITY];
+        int size;
+    }
+
+    private static class LongItems {
+        long[] values = new long[INITIAL_CAPACITY];
+        int size;
+    }
+
+    private static class DoubleItems {
+        double[] values = new double[INITIAL_CAPACITY];
+        int size;
+    }
+
+    private static class BooleanItems {
+        boolean[] values = new boolean[INITIAL_CAPACITY];
+        int size;
+    }
+}
@@ -1,30 +1,29 @@
 package org.beat.producers.standard.object;
 
 import org.beat.errors.ConversionException;
-import org.beat.producers.ObjectProducer;
+import org.beat.examiners.PrimitiveKind;
+import org.beat.producers.ObjectSlot;
+import org.beat.producers.PrimitiveObjectProducer;
+import org.beat.util.Accessors;
 import org.beat.util.ReflectUtils;
 import org.beat.errors.BeatException;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
 import java.lang.reflect.Type;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
-public class ClassObjectProducer implements ObjectProducer {
+public class ClassObjectProducer implements PrimitiveObjectProducer {
 
     private final Class<?> type;
     private final Supplier<Object> maker;
-    private final Map<String, BiConsumer<Object, Object>> setters;
-    private final Map<String, Type> typeHints;
+    private final SlotTable slots;
 
     public ClassObjectProducer(Class<?> type) {
         this.type = type;
-        this.typeHints = new HashMap<>();
-        this.setters = generateSetters(type, typeHints);
+        this.slots = generateSlots(type);
         this.maker = generateMaker(type);
     }
 
@@ -38,39 +37,19 @@ public class ClassObjectProducer implements ObjectProducer {
             throw new BeatException(e);
         }
 
-        return () -> {
-            try {
-                return ctr.newInstance();
-            }
-            catch (InstantiationException e) {
-                throw new BeatException(e);
-            }
-            catch (IllegalAccessException e) {
-                throw new BeatException(e);
-            }
-            catch (InvocationTargetException e) {
-                throw new BeatException(e.getTargetException());
-            }
-        };
+        return Accessors.maker(ctr);
     }
 
-    private static Map<String, BiConsumer<Object, Object>> generateSetters(Class<?> type, Map<String, Type> typeHints) {
-        var setters = new LinkedHashMap<String, BiConsumer<Object, Object>>();
+    private static SlotTable generateSlots(Class<?> type) {
+        var slots = new LinkedHashMap<String, StandardObjectSlot>();
 
         for (var field : type.getFields()) {
             var name = field.getName();
             var dataType = field.getType();
             var dataTypeHint = field.getGenericType();
+            var setter = Accessors.setter(field);
 
-            typeHints.put(name, dataTypeHint);
-            setters.put(name, (obj, value) -> {
-                try {
-                    field.set(obj, ReflectUtils.convertTo(value, dataType));
-                }
-                catch (IllegalAccessException e) {
-                    throw new BeatException(e);
-                }
-            });
+            slots.put(name, createSlot(type, name, dataType, dataTypeHint, setter, field));
         }
 
         for (var method : type.getMethods()) {
@@ -79,46 +58,69 @@ public class ClassObjectProducer implements ObjectProducer {
                 name = name.substring(3, 4).toLowerCase() + name.substring(4);
                 var dataType = method.getParameters()[0].getType();
                 var dataTypeHint = method.getParameters()[0].getParameterizedType();  // TODO check if this is OK
-                typeHints.put(name, dataTypeHint);
-                setters.put(name, (obj, value) -> {
-                    try {
-                        method.invoke(obj, ReflectUtils.convertTo(value, dataType));
-                    } catch (IllegalAccessException e) {
-                        throw new BeatException(e);
-                    } catch (InvocationTargetException e) {
-                        throw new BeatException(e.getTargetException());
-                    }
-                });
+                var setter = Accessors.setter(method);
+                slots.put(name, createSlot(type, name, dataType, dataTypeHint, setter, method));
             }
         }
 
-        return setters;
+        return new SlotTable(slots.values());
+    }
+
+    private static StandardObjectSlot createSlot(Class<?> type, String key, Class<?> dataType, Type dataTypeHint, BiConsumer<Object, Object> setter, Member member) {
+        BiConsumer<Object, Object> converter = (obj, value) -> {
+            try {
+                setter.accept(obj, ReflectUtils.convertTo(value, dataType));
+            }
+            catch (ConversionException e) {
+                throw new BeatException(type.getSimpleName() + "[" + key + "]: " + e.getMessage(), e);
+            }
+        };
+
+        switch (PrimitiveKind.of(dataType)) {
+            case INT:
+                return StandardObjectSlot.ofInt(key, dataTypeHint, converter, Accessors.intSetter(member));
+            case LONG:
+                return StandardObjectSlot.ofLong(key, dataTypeHint, converter, Accessors.longSetter(member));
+            case DOUBLE:
+                return StandardObjectSlot.ofDouble(key, dataTypeHint, converter, Accessors.doubleSetter(member));
+            case BOOLEAN:
+                return StandardObjectSlot.ofBoolean(key, dataTypeHint, converter, Accessors.booleanSetter(member));
+            default:
+                return new StandardObjectSlot(key, dataTypeHint, converter);
+        }
     }
 
     @Override
     public Object beginInstance() {
-        return maker.get();
+        try {
+            return maker.get();
+        }
+        catch (Exception e) {
+            throw Accessors.wrap(e);
+        }
     }
 
     @Override
     public void set(Object obj, String key, Object value) {
-        var setter = setters.get(key);
+        var slot = slots.get(key);
 
-        if (setter == null) {
+        if (slot == null) {
             throw new BeatException("not setter for " + type.getName() + "[" + key + "]");
         }
 
-        try {
-            setter.accept(obj, value);
-        }
-        catch (ConversionException e) {
-            throw new BeatException(obj.getClass().getSimpleName() + "[" + key + "]: " + e.getMessage(), e);
-        }
+        slot.set(obj, value);
     }
 
     @Override
     public Type getTypeHint(String key) {
-        return typeHints.get(key);
+        var slot = slots.get(key);
+
+        return slot != null ? slot.getTypeHint() : null;
+    }
+
+    @Override
+    public StandardObjectSlot findSlot(CharSequence key, ObjectSlot previous) {
+        return slots.find(key, previous);
     }
 
     @Override
@@ -0,0 +1,56 @@
+package org.beat.producers.standard.object;
+
+import org.beat.producers.ObjectSlot;
+import org.beat.util.KeyTable;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+
+public class SlotTable {
+
+    private final KeyTable<StandardObjectSlot> table;
+    private final StandardObjectSlot first;
+
+    public SlotTable(Collection<StandardObjectSlot> slots) {
+        var entries = new LinkedHashMap<String, StandardObjectSlot>();
+        StandardObjectSlot last = null;
+
+        for (var slot : slots) {
+            if (last != null) {
+                last.next = slot;
+            }
+            entries.put(slot.getKey(), slot);
+            last = slot;
+        }
+
+        this.table = new KeyTable<>(entries);
+        this.first = slots.isEmpty() ? null : slots.iterator().next();
+    }
+
+    // Keys usually come in declaration order, so the slot after the previous
+    // one is tried before looking up the table.
+    public StandardObjectSlot find(CharSequence key, ObjectSlot previous) {
+        StandardObjectSlot guess = null;
+
+        if (previous == null) {
+            guess = first;
+        }
+        else if (previous instanceof StandardObjectSlot) {
+            guess = ((StandardObjectSlot)previous).next;
+        }
+
+        if (guess != null && guess.getKey().contentEquals(key)) {
+            return guess;
+        }
+
+        return table.get(key);
+    }
+
+    public StandardObjectSlot get(CharSequence key) {
+        return table.get(key);
+    }
+
+    public int size() {
+        return table.size();
+    }
+}
@@ -0,0 +1,147 @@
+package org.beat.producers.standard.object;
+
+import org.beat.examiners.PrimitiveKind;
+import org.beat.producers.PrimitiveObjectSlot;
+import org.beat.util.Accessors;
+import org.beat.util.ObjBooleanConsumer;
+
+import java.lang.reflect.Type;
+import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+
+public class StandardObjectSlot implements PrimitiveObjectSlot {
+
+    private final String key;
+    private final Type typeHint;
+    private final BiConsumer<Object, Object> setter;
+    private final PrimitiveKind kind;
+    private final ObjIntConsumer<Object> intSetter;
+    private final ObjLongConsumer<Object> longSetter;
+    private final ObjDoubleConsumer<Object> doubleSetter;
+    private final ObjBooleanConsumer<Object> booleanSetter;
+
+    // Slot declared after this one, linked by SlotTable
+    StandardObjectSlot next;
+
+    public StandardObjectSlot(String key, Type typeHint, BiConsumer<Object, Object> setter) {
+        this(key, typeHint, setter, PrimitiveKind.NONE, null, null, null, null);
+    }
+
+    private StandardObjectSlot(String key, Type typeHint, BiConsumer<Object, Object> setter, PrimitiveKind kind,
+                               ObjIntConsumer<Object> intSetter, ObjLongConsumer<Object> longSetter,
+                               ObjDoubleConsumer<Object> doubleSetter, ObjBooleanConsumer<Object> booleanSetter) {
+        this.key = key;
+        this.typeHint = typeHint;
+        this.setter = setter;
+        this.kind = kind;
+        this.intSetter = intSetter;
+        this.longSetter = longSetter;
+        this.doubleSetter = doubleSetter;
+        this.booleanSetter = booleanSetter;
+    }
+
+    public static StandardObjectSlot ofInt(String key, Type typeHint, BiConsumer<Object, Object> setter, ObjIntConsumer<Object> intSetter) {
+        return new StandardObjectSlot(key, typeHint, setter, PrimitiveKind.INT, intSetter, null, null, null);
+    }
+
+    public static StandardObjectSlot ofLong(String key, Type typeHint, BiConsumer<Object, Object> setter, ObjLongConsumer<Object> longSetter) {
+        return new StandardObjectSlot(key, typeHint, setter, PrimitiveKind.LONG, null, longSetter, null, null);
+    }
+
+    public static StandardObjectSlot ofDouble(String key, Type typeHint, BiConsumer<Object, Object> setter, ObjDoubleConsumer<Object> doubleSetter) {
+        return new StandardObjectSlot(key, typeHint, setter, PrimitiveKind.DOUBLE, null, null, doubleSetter, null);
+    }
+
+    public static StandardObjectSlot ofBoolean(String key, Type typeHint, BiConsumer<Object, Object> setter, ObjBooleanConsumer<Object> booleanSetter) {
+        return new StandardObjectSlot(key, typeHint, setter, PrimitiveKind.BOOLEAN, null, null, null, booleanSetter);
+    }
+
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public Type getTypeHint() {
+        return typeHint;
+    }
+
+    // Setters run user code, anything they throw is reported as a BeatException
+
+    @Override
+    public void set(Object instance, Object value) {
+        try {
+            setter.accept(instance, value);
+        }
+        catch (Exception e) {
+            throw Accessors.wrap(e);
+        }
+    }
+
+    @Override
+    public PrimitiveKind getKind() {
+        return kind;
+    }
+
+    @Override
+    public void setInt(Object instance, int value) {
+        try {
+            if (intSetter != null) {
+                intSetter.accept(instance, value);
+            }
+            else {
+                setter.accept(instance, value);
+            }
+        }
+        catch (Exception e) {
+            throw Accessors.wrap(e);
+        }
+    }
+
+    @Override
+    public void setLong(Object instance, long value) {
+        try {
+            if (longSetter != null) {
+                longSetter.accept(instance, value);
+            }
+            else {
+                setter.accept(instance, value);
+            }
+        }
+        catch (Exception e) {
+            throw Accessors.wrap(e);
+        }
+    }
+
+    @Override
+    public void setDouble(Object instance, double value) {
+        try {
+            if (doubleSetter != null) {
+                doubleSetter.accept(instance, value);
+            }
+            else {
+                setter.accept(instance, value);
+            }
+        }
+        catch (Exception e) {
+            throw Accessors.wrap(e);
+        }
+    }
+
+    @Override
+    public void setBoolean(Object instance, boolean value) {
+        try {
+            if (booleanSetter != null) {
+                booleanSetter.accept(instance, value);
+            }
+            else {
+                setter.accept(instance, value);
+            }
+        }
+        catch (Exception e) {
+            throw Accessors.wrap(e);
+        }
+    }
+}
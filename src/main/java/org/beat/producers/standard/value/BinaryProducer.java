@@ -0,0 +1,46 @@
+package org.beat.producers.standard.value;
+
+import org.beat.errors.BeatException;
+import org.beat.producers.ValueProducer;
+import org.beat.util.Base64Chars;
+import org.beat.util.PP;
+
+import java.nio.ByteBuffer;
+
+public class BinaryProducer implements ValueProducer {
+
+    public static final BinaryProducer BYTES_INSTANCE = new BinaryProducer(false);
+    public static final BinaryProducer BUFFER_INSTANCE = new BinaryProducer(true);
+
+    private final boolean buffer;
+
+    private BinaryProducer(boolean buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public Object newInstance(Object[] arguments) {
+        if (arguments.length != 1) {
+            throw new BeatException("Expected one argument.");
+        }
+
+        var argument = arguments[0];
+
+        if (argument == null) {
+            return null;
+        }
+        else if (argument instanceof CharSequence) {
+            return produce(Base64Chars.parse((CharSequence)argument));
+        }
+        else if (argument instanceof byte[]) {
+            return produce((byte[])argument);
+        }
+        else {
+            throw new BeatException("Expected a base64 string instead of " + PP.typeOf(argument) + ".");
+        }
+    }
+
+    public Object produce(byte[] data) {
+        return buffer ? ByteBuffer.wrap(data) : data;
+    }
+}
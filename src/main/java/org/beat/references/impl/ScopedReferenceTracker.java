@@ -0,0 +1,55 @@
+package org.beat.references.impl;
+
+import org.beat.errors.UnknownReferenceException;
+import org.beat.references.ReferenceTracker;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// References are stored in the current scope, values of the parent tracker
+// stay visible in every scope.
+public class ScopedReferenceTracker implements ReferenceTracker {
+
+    private final ReferenceTracker parent;
+    private final Map<String, Object> referenceValues;
+
+    public ScopedReferenceTracker() {
+        this(null);
+    }
+
+    public ScopedReferenceTracker(ReferenceTracker parent) {
+        this.parent = parent;
+        this.referenceValues = new HashMap<>();
+    }
+
+    public ReferenceTracker getParent() {
+        return parent;
+    }
+
+    public int size() {
+        return referenceValues.size();
+    }
+
+    // The map is cleared instead of replaced so its table is reused
+    public void resetScope() {
+        referenceValues.clear();
+    }
+
+    @Override
+    public Object retrieve(String reference) {
+        if (referenceValues.containsKey(reference)) {
+            return referenceValues.get(reference);
+        }
+        else if (parent != null) {
+            return parent.retrieve(reference);
+        }
+        else {
+            throw new UnknownReferenceException(reference);
+        }
+    }
+
+    @Override
+    public void store(String reference, Object value) {
+        referenceValues.put(reference, value);
+    }
+}
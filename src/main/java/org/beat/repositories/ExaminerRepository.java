@@ -4,4 +4,9 @@ import org.beat.examiners.Examiner;
 
 public interface ExaminerRepository {
     Examiner getExaminer(Object value);
+
+    // False only when no instance of the type can get an examiner from this repository
+    default boolean mayExamine(Class<?> type) {
+        return true;
+    }
 }
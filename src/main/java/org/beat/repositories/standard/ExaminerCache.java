@@ -0,0 +1,118 @@
+package org.beat.repositories.standard;
+
+import org.beat.codecs.standard.TieredCodecs;
+import org.beat.errors.BeatException;
+import org.beat.examiners.Examiner;
+import org.beat.examiners.standard.StandardExaminers;
+import org.beat.examiners.standard.value.ValueIdentityExaminer;
+import org.beat.types.DefaultTypedList;
+import org.beat.types.DefaultTypedObject;
+import org.beat.types.DefaultTypedValue;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+public class ExaminerCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    // Marks classes whose examiner depends on the type name of each instance
+    private static final Examiner BY_TYPE_NAME = () -> null;
+
+    private final int maxSize;
+    private final TieredCodecs tiers;
+    private final ClassValue<Examiner> classExaminers;
+    private final ConcurrentHashMap<String, Examiner> objectExaminers;
+    private final ConcurrentHashMap<String, Examiner> listExaminers;
+    private final ConcurrentHashMap<String, Examiner> valueExaminers;
+
+    public ExaminerCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public ExaminerCache(int maxSize) {
+        this(maxSize, null);
+    }
+
+    public ExaminerCache(int maxSize, TieredCodecs tiers) {
+        if (maxSize < 0) {
+            throw new BeatException("Max size cannot be negative: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.tiers = tiers;
+        this.classExaminers = new ClassValue<>() {
+            @Override
+            protected Examiner computeValue(Class<?> type) {
+                if (DefaultTypedObject.class.isAssignableFrom(type)
+                        || DefaultTypedList.class.isAssignableFrom(type)
+                        || DefaultTypedValue.class.isAssignableFrom(type)) {
+                    return BY_TYPE_NAME;
+                }
+                var examiner = StandardExaminers.create(type);
+
+                if (tiers != null) {
+                    return tiers.wrapExaminer(type, examiner);
+                }
+
+                return examiner;
+            }
+        };
+        this.objectExaminers = new ConcurrentHashMap<>();
+        this.listExaminers = new ConcurrentHashMap<>();
+        this.valueExaminers = new ConcurrentHashMap<>();
+    }
+
+    public Examiner getExaminer(Object value) {
+        if (value == null) {
+            return ValueIdentityExaminer.INSTANCE;
+        }
+
+        var examiner = classExaminers.get(value.getClass());
+
+        if (examiner != BY_TYPE_NAME) {
+            return examiner;
+        }
+        else if (value instanceof DefaultTypedObject) {
+            return getByTypeName(objectExaminers, ((DefaultTypedObject)value).getTypeName(), StandardExaminers::createTypedObject);
+        }
+        else if (value instanceof DefaultTypedList) {
+            return getByTypeName(listExaminers, ((DefaultTypedList)value).getTypeName(), StandardExaminers::createTypedList);
+        }
+        else {
+            return getByTypeName(valueExaminers, ((DefaultTypedValue)value).getTypeName(), StandardExaminers::createTypedValue);
+        }
+    }
+
+    public TieredCodecs getTiers() {
+        return tiers;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private Examiner getByTypeName(ConcurrentHashMap<String, Examiner> examiners, String typeName, Function<String, Examiner> factory) {
+        if (typeName == null) {
+            return factory.apply(null);
+        }
+
+        var examiner = examiners.get(typeName);
+
+        if (examiner != null) {
+            return examiner;
+        }
+
+        examiner = factory.apply(typeName);
+
+        // Once full, examiners are still created but not retained
+        if (examiners.size() < maxSize) {
+            var existing = examiners.putIfAbsent(typeName, examiner);
+            if (existing != null) {
+                return existing;
+            }
+        }
+
+        return examiner;
+    }
+
+}
@@ -0,0 +1,162 @@
+package org.beat.repositories.standard;
+
+import org.beat.codecs.standard.TieredCodecs;
+import org.beat.errors.BeatException;
+import org.beat.producers.ArrayProducer;
+import org.beat.producers.ObjectProducer;
+import org.beat.producers.Producer;
+import org.beat.producers.ValueProducer;
+import org.beat.producers.standard.StandardArrayProducers;
+import org.beat.producers.standard.StandardObjectProducers;
+import org.beat.producers.standard.StandardValueProducers;
+
+import java.lang.reflect.Type;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ProducerCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    private final int maxSize;
+    private final TieredCodecs tiers;
+    private final ConcurrentHashMap<Key, Producer> producers;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    public ProducerCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public ProducerCache(int maxSize) {
+        this(maxSize, null);
+    }
+
+    public ProducerCache(int maxSize, TieredCodecs tiers) {
+        if (maxSize < 0) {
+            throw new BeatException("Max size cannot be negative: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.tiers = tiers;
+        this.producers = new ConcurrentHashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    public ObjectProducer getObjectProducer(Type typeHint, String typeName, boolean useCleanDefaultTypes) {
+        return get(ObjectProducer.class, typeHint, typeName, useCleanDefaultTypes, this::createObjectProducer);
+    }
+
+    public ArrayProducer getArrayProducer(Type typeHint, String typeName, boolean useCleanDefaultTypes) {
+        return get(ArrayProducer.class, typeHint, typeName, useCleanDefaultTypes, StandardArrayProducers::create);
+    }
+
+    public ValueProducer getValueProducer(Type typeHint, String typeName, boolean useCleanDefaultTypes) {
+        return get(ValueProducer.class, typeHint, typeName, useCleanDefaultTypes, StandardValueProducers::create);
+    }
+
+    public TieredCodecs getTiers() {
+        return tiers;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int size() {
+        return producers.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public void clear() {
+        producers.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    private <T extends Producer> T get(Class<T> kind, Type typeHint, String typeName, boolean useCleanDefaultTypes, Factory<T> factory) {
+        var key = new Key(kind, typeHint, typeName, useCleanDefaultTypes);
+        var producer = producers.get(key);
+
+        if (producer != null) {
+            hits.increment();
+            return kind.cast(producer);
+        }
+
+        misses.increment();
+
+        var created = factory.create(typeHint, typeName, useCleanDefaultTypes);
+
+        // Once full, producers are still created but not retained
+        if (producers.size() < maxSize) {
+            var existing = producers.putIfAbsent(key, created);
+            if (existing != null) {
+                return kind.cast(existing);
+            }
+        }
+
+        return created;
+    }
+
+    private ObjectProducer createObjectProducer(Type typeHint, String typeName, boolean useCleanDefaultTypes) {
+        var producer = StandardObjectProducers.create(typeHint, typeName, useCleanDefaultTypes);
+
+        if (tiers != null && typeHint instanceof Class) {
+            return tiers.wrapProducer((Class<?>)typeHint, typeName, producer);
+        }
+
+        return producer;
+    }
+
+    private interface Factory<T extends Producer> {
+        T create(Type typeHint, String typeName, boolean useCleanDefaultTypes);
+    }
+
+    private static class Key {
+        final Class<?> kind;
+        final Type typeHint;
+        final String typeName;
+        final boolean useCleanDefaultTypes;
+        final int hash;
+
+        private Key(Class<?> kind, Type typeHint, String typeName, boolean useCleanDefaultTypes) {
+            this.kind = kind;
+            this.typeHint = typeHint;
+            this.typeName = typeName;
+            this.useCleanDefaultTypes = useCleanDefaultTypes;
+            this.hash = ((kind.hashCode() * 31
+                    + Objects.hashCode(typeHint)) * 31
+                    + Objects.hashCode(typeName)) * 31
+                    + (useCleanDefaultTypes ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            var other = (Key)o;
+            return kind == other.kind
+                    && useCleanDefaultTypes == other.useCleanDefaultTypes
+                    && Objects.equals(typeHint, other.typeHint)
+                    && Objects.equals(typeName, other.typeName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
@@ -8,32 +8,89 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 public class StandardExaminerRepository implements ExaminerRepository {
 
+    private static final ExaminerEntry[] NO_ENTRIES = new ExaminerEntry[0];
+
     private final List<ExaminerEntry> entries;
+    private final ConcurrentHashMap<Class<?>, Resolution> resolutions;
 
     public StandardExaminerRepository() {
         entries = new ArrayList<>();
+        resolutions = new ConcurrentHashMap<>();
     }
 
     public StandardExaminerRepository register(Examiner examiner, Class<?> type) {
         Objects.requireNonNull(examiner);
         Objects.requireNonNull(type);
-        entries.add(new ExaminerEntry(examiner, type::isInstance));
-        return this;
+        return add(new ExaminerEntry(examiner, type::isInstance, type, true));
     }
 
     public StandardExaminerRepository register(Examiner examiner, Predicate<Object> condition) {
+        return register(examiner, condition, false);
+    }
+
+    // A class-pure condition gives the same result for every instance of a class
+    public StandardExaminerRepository register(Examiner examiner, Predicate<Object> condition, boolean classPure) {
         Objects.requireNonNull(examiner);
         Objects.requireNonNull(condition);
-        entries.add(new ExaminerEntry(examiner, condition));
+        return add(new ExaminerEntry(examiner, condition, null, classPure));
+    }
+
+    // A copy of this repository with each examiner replaced by the mapped one
+    public StandardExaminerRepository map(UnaryOperator<Examiner> mapper) {
+        var copy = new StandardExaminerRepository();
+        for (var entry : entries) {
+            copy.entries.add(new ExaminerEntry(mapper.apply(entry.examiner), entry.condition, entry.type, entry.classPure));
+        }
+        return copy;
+    }
+
+    private StandardExaminerRepository add(ExaminerEntry entry) {
+        entries.add(entry);
+        resolutions.clear();
         return this;
     }
 
     @Override
     public Examiner getExaminer(Object value) {
+        if (value == null) {
+            return scan(null);
+        }
+
+        var resolution = resolutions.get(value.getClass());
+
+        if (resolution == null) {
+            resolution = resolve(value);
+            resolutions.put(value.getClass(), resolution);
+        }
+
+        // Conditions that depend on the value keep their registration order
+        for (var entry : resolution.impureEntries) {
+            if (entry.condition.test(value)) {
+                return entry.examiner;
+            }
+        }
+
+        return resolution.examiner;
+    }
+
+    @Override
+    public boolean mayExamine(Class<?> type) {
+        for (var entry : entries) {
+            if (entry.type == null || entry.type.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private Examiner scan(Object value) {
         for (var entry : entries) {
             if (entry.condition.test(value)) {
                 return entry.examiner;
@@ -47,12 +104,45 @@ public class StandardExaminerRepository implements ExaminerRepository {
         return null;
     }
 
+    private Resolution resolve(Object value) {
+        var type = value.getClass();
+        var impureEntries = new ArrayList<ExaminerEntry>();
+
+        for (var entry : entries) {
+            if (!entry.classPure) {
+                impureEntries.add(entry);
+            }
+            else if (entry.type != null ? entry.type.isAssignableFrom(type) : entry.condition.test(value)) {
+                return new Resolution(entry.examiner, impureEntries);
+            }
+        }
+
+        if (value instanceof Duration) {
+            return new Resolution(DurationExaminer.ANONYMOUS_INSTANCE, impureEntries);
+        }
+
+        return new Resolution(null, impureEntries);
+    }
+
     private static class ExaminerEntry {
         final Examiner examiner;
         final Predicate<Object> condition;
-        private ExaminerEntry(Examiner examiner, Predicate<Object> condition) {
+        final Class<?> type;
+        final boolean classPure;
+        private ExaminerEntry(Examiner examiner, Predicate<Object> condition, Class<?> type, boolean classPure) {
             this.condition = condition;
             this.examiner = examiner;
+            this.type = type;
+            this.classPure = classPure;
+        }
+    }
+
+    private static class Resolution {
+        final Examiner examiner;
+        final ExaminerEntry[] impureEntries;
+        private Resolution(Examiner examiner, List<ExaminerEntry> impureEntries) {
+            this.examiner = examiner;
+            this.impureEntries = impureEntries.isEmpty() ? NO_ENTRIES : impureEntries.toArray(NO_ENTRIES);
         }
     }
 
@@ -12,6 +12,7 @@ import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.UnaryOperator;
 
 public class StandardProducerRepository implements ProducerRepository {
 
@@ -78,6 +79,20 @@ public class StandardProducerRepository implements ProducerRepository {
         return this;
     }
 
+    // A copy of this repository with each producer replaced by the mapped one
+    public StandardProducerRepository map(UnaryOperator<Producer> mapper) {
+        var copy = new StandardProducerRepository();
+        if (nameProducers != null) {
+            copy.nameProducers = new HashMap<>();
+            nameProducers.forEach((name, producer) -> copy.nameProducers.put(name, mapper.apply(producer)));
+        }
+        if (typeProducers != null) {
+            copy.typeProducers = new HashMap<>();
+            typeProducers.forEach((type, producer) -> copy.typeProducers.put(type, mapper.apply(producer)));
+        }
+        return copy;
+    }
+
     public boolean contains(String name) {
         return nameProducers != null && nameProducers.containsKey(name);
     }
@@ -0,0 +1,72 @@
+package org.beat.types;
+
+import org.beat.util.Numbers;
+
+// Keeps the text of a number and parses it on first access
+public class LazyNumber extends Number {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String text;
+    private transient Number value;
+
+    public LazyNumber(String text) {
+        this.text = text;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public Number getValue() {
+        var result = value;
+
+        if (result == null) {
+            result = Numbers.isInteger(text) ? Numbers.parseInteger(text, false) : Numbers.parseDecimal(text);
+            value = result;
+        }
+
+        return result;
+    }
+
+    @Override
+    public int intValue() {
+        return getValue().intValue();
+    }
+
+    @Override
+    public long longValue() {
+        return getValue().longValue();
+    }
+
+    @Override
+    public float floatValue() {
+        return getValue().floatValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        return getValue().doubleValue();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LazyNumber)) {
+            return false;
+        }
+        return text.equals(((LazyNumber)o).text);
+    }
+
+    @Override
+    public int hashCode() {
+        return text.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
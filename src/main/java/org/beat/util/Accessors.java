@@ -0,0 +1,389 @@
+package org.beat.util;
+
+import org.beat.errors.BeatException;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+public class Accessors {
+
+    private Accessors() {}
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType MAKER_TYPE = MethodType.methodType(Object.class);
+
+    // Each accessor is generated with LambdaMetafactory when the class can be
+    // looked up privately, otherwise it falls back to a method handle and at
+    // last to plain reflection. Generated lambdas call the member directly, so
+    // whatever it throws is passed through: callers report it with wrap().
+
+    public static Supplier<Object> maker(Constructor<?> constructor) {
+        return accessor(constructor, Supplier.class, "get", MAKER_TYPE,
+                handle -> () -> {
+                    try {
+                        return (Object)handle.invokeExact();
+                    }
+                    catch (Throwable e) {
+                        throw wrap(e);
+                    }
+                },
+                () -> () -> {
+                    try {
+                        return constructor.newInstance();
+                    }
+                    catch (InstantiationException | IllegalAccessException e) {
+                        throw new BeatException(e);
+                    }
+                    catch (InvocationTargetException e) {
+                        throw new BeatException(e.getTargetException());
+                    }
+                });
+    }
+
+    public static Function<Object, Object> getter(Method method) {
+        return accessor(method, Function.class, "apply", GETTER_TYPE, Accessors::getter,
+                () -> instance -> {
+                    try {
+                        return method.invoke(instance);
+                    }
+                    catch (IllegalAccessException e) {
+                        throw new BeatException(e);
+                    }
+                    catch (InvocationTargetException e) {
+                        throw new BeatException(e.getTargetException());
+                    }
+                });
+    }
+
+    public static BiConsumer<Object, Object> setter(Method method) {
+        return accessor(method, BiConsumer.class, "accept", SETTER_TYPE, Accessors::setter,
+                () -> (instance, value) -> {
+                    try {
+                        method.invoke(instance, value);
+                    }
+                    catch (IllegalAccessException e) {
+                        throw new BeatException(e);
+                    }
+                    catch (InvocationTargetException e) {
+                        throw new BeatException(e.getTargetException());
+                    }
+                });
+    }
+
+    public static Function<Object, Object> getter(Field field) {
+        return accessor(field, Function.class, "apply", GETTER_TYPE, Accessors::getter,
+                () -> instance -> {
+                    try {
+                        return field.get(instance);
+                    }
+                    catch (IllegalAccessException e) {
+                        throw new BeatException(e);
+                    }
+                });
+    }
+
+    public static BiConsumer<Object, Object> setter(Field field) {
+        return accessor(field, BiConsumer.class, "accept", SETTER_TYPE, Accessors::setter,
+                () -> (instance, value) -> {
+                    try {
+                        field.set(instance, value);
+                    }
+                    catch (IllegalAccessException e) {
+                        throw new BeatException(e);
+                    }
+                });
+    }
+
+    // Primitive getters read fields and getter methods without boxing
+
+    public static ToIntFunction<Object> intGetter(Member member) {
+        return accessor(member, ToIntFunction.class, "applyAsInt", MethodType.methodType(int.class, Object.class),
+                handle -> instance -> {
+                    try {
+                        return (int)handle.invokeExact(instance);
+                    }
+                    catch (Throwable e) {
+                        throw wrap(e);
+                    }
+                },
+                () -> {
+                    var getter = getter(member);
+                    return instance -> ((Number)getter.apply(instance)).intValue();
+                });
+    }
+
+    public static ToLongFunction<Object> longGetter(Member member) {
+        return accessor(member, ToLongFunction.class, "applyAsLong", MethodType.methodType(long.class, Object.class),
+                handle -> instance -> {
+                    try {
+                        return (long)handle.invokeExact(instance);
+                    }
+                    catch (Throwable e) {
+                        throw wrap(e);
+                    }
+                },
+                () -> {
+                    var getter = getter(member);
+                    return instance -> ((Number)getter.apply(instance)).longValue();
+                });
+    }
+
+    public static ToDoubleFunction<Object> doubleGetter(Member member) {
+        return accessor(member, ToDoubleFunction.class, "applyAsDouble", MethodType.methodType(double.class, Object.class),
+                handle -> instance -> {
+                    try {
+                        return (double)handle.invokeExact(instance);
+                    }
+                    catch (Throwable e) {
+                        throw wrap(e);
+                    }
+                },
+                () -> {
+                    var getter = getter(member);
+                    return instance -> ((Number)getter.apply(instance)).doubleValue();
+                });
+    }
+
+    public static Predicate<Object> booleanGetter(Member member) {
+        return accessor(member, Predicate.class, "test", MethodType.methodType(boolean.class, Object.class),
+                handle -> instance -> {
+                    try {
+                        return (boolean)handle.invokeExact(instance);
+                    }
+                    catch (Throwable e) {
+                        throw wrap(e);
+                    }
+                },
+                () -> {
+                    var getter = getter(member);
+                    return instance -> (Boolean)getter.apply(instance);
+                });
+    }
+
+    // Primitive setters assign fields and call setter methods without boxing
+
+    public static ObjIntConsumer<Object> intSetter(Member member) {
+        return accessor(member, ObjIntConsumer.class, "accept", MethodType.methodType(void.class, Object.class, int.class),
+                handle -> (instance, value) -> {
+                    try {
+                        handle.invokeExact(instance, value);
+                    }
+                    catch (Throwable e) {
+                        throw wrap(e);
+                    }
+                },
+                () -> setter(member)::accept);
+    }
+
+    public static ObjLongConsumer<Object> longSetter(Member member) {
+        return accessor(member, ObjLongConsumer.class, "accept", MethodType.methodType(void.class, Object.class, long.class),
+                handle -> (instance, value) -> {
+                    try {
+                        handle.invokeExact(instance, value);
+                    }
+                    catch (Throwable e) {
+                        throw wrap(e);
+                    }
+                },
+                () -> setter(member)::accept);
+    }
+
+    public static ObjDoubleConsumer<Object> doubleSetter(Member member) {
+        return accessor(member, ObjDoubleConsumer.class, "accept", MethodType.methodType(void.class, Object.class, double.class),
+                handle -> (instance, value) -> {
+                    try {
+                        handle.invokeExact(instance, value);
+                    }
+                    catch (Throwable e) {
+                        throw wrap(e);
+                    }
+                },
+                () -> setter(member)::accept);
+    }
+
+    public static ObjBooleanConsumer<Object> booleanSetter(Member member) {
+        return accessor(member, ObjBooleanConsumer.class, "accept", MethodType.methodType(void.class, Object.class, boolean.class),
+                handle -> (instance, value) -> {
+                    try {
+                        handle.invokeExact(instance, value);
+                    }
+                    catch (Throwable e) {
+                        throw wrap(e);
+                    }
+                },
+                () -> setter(member)::accept);
+    }
+
+    // Reports anything thrown through an accessor as a BeatException
+    public static RuntimeException wrap(Throwable e) {
+        if (e instanceof BeatException) {
+            return (BeatException)e;
+        }
+        else if (e instanceof Error) {
+            throw (Error)e;
+        }
+        return new BeatException(e);
+    }
+
+    // The strategy ladder shared by every accessor. The functional interface
+    // is described by its method name and erased type: a setter returns void
+    // and takes the instance and the value, a getter takes the instance and
+    // returns the value, and a maker takes nothing.
+    private static <T> T accessor(Member member, Class<?> functionType, String name, MethodType erasedType,
+                                  Function<MethodHandle, T> fromHandle, Supplier<T> fromReflection) {
+        var lookup = privateLookup(member.getDeclaringClass());
+
+        if (lookup != null && !(member instanceof Field) && !Modifier.isStatic(member.getModifiers())) {
+            try {
+                var handle = member instanceof Constructor
+                        ? lookup.unreflectConstructor((Constructor<?>)member)
+                        : lookup.unreflect((Method)member);
+                var site = LambdaMetafactory.metafactory(lookup, name,
+                        MethodType.methodType(functionType), erasedType, handle,
+                        instantiatedType(member, erasedType));
+
+                return uncheckedCast(site.getTarget().invoke());
+            }
+            catch (Throwable e) {
+                // try next strategy
+            }
+        }
+
+        var handle = memberHandle(lookup, member, erasedType.returnType() == void.class);
+
+        if (handle != null) {
+            if (Modifier.isStatic(member.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+
+            return fromHandle.apply(handle.asType(erasedType));
+        }
+
+        return fromReflection.get();
+    }
+
+    // The erased type specialized to the declaring class and the boxed member type
+    private static MethodType instantiatedType(Member member, MethodType erasedType) {
+        if (member instanceof Constructor) {
+            return MethodType.methodType(member.getDeclaringClass());
+        }
+
+        var method = (Method)member;
+        var result = erasedType.changeParameterType(0, method.getDeclaringClass());
+
+        if (result.parameterCount() == 2 && result.parameterType(1) == Object.class) {
+            result = result.changeParameterType(1, box(method.getParameterTypes()[0]));
+        }
+        if (result.returnType() == Object.class) {
+            result = result.changeReturnType(box(method.getReturnType()));
+        }
+
+        return result;
+    }
+
+    private static MethodHandle memberHandle(MethodHandles.Lookup lookup, Member member, boolean setter) {
+        if (member instanceof Constructor) {
+            return publicHandle(lookup, l -> l.unreflectConstructor((Constructor<?>)member));
+        }
+        else if (member instanceof Method) {
+            return publicHandle(lookup, l -> l.unreflect((Method)member));
+        }
+        else if (setter) {
+            return publicHandle(lookup, l -> l.unreflectSetter((Field)member));
+        }
+        return publicHandle(lookup, l -> l.unreflectGetter((Field)member));
+    }
+
+    private static BiConsumer<Object, Object> setter(Member member) {
+        return member instanceof Field ? setter((Field)member) : setter((Method)member);
+    }
+
+    private static Function<Object, Object> getter(Member member) {
+        return member instanceof Field ? getter((Field)member) : getter((Method)member);
+    }
+
+    private static Function<Object, Object> getter(MethodHandle handle) {
+        return instance -> {
+            try {
+                return (Object)handle.invokeExact(instance);
+            }
+            catch (Throwable e) {
+                throw wrap(e);
+            }
+        };
+    }
+
+    private static BiConsumer<Object, Object> setter(MethodHandle handle) {
+        return (instance, value) -> {
+            try {
+                handle.invokeExact(instance, value);
+            }
+            catch (Throwable e) {
+                throw wrap(e);
+            }
+        };
+    }
+
+    private static MethodHandles.Lookup privateLookup(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        }
+        catch (IllegalAccessException | SecurityException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle publicHandle(MethodHandles.Lookup lookup, HandleResolver resolver) {
+        if (lookup != null) {
+            try {
+                return resolver.resolve(lookup);
+            }
+            catch (IllegalAccessException e) {
+                // try with the public lookup
+            }
+        }
+
+        try {
+            return resolver.resolve(MethodHandles.publicLookup());
+        }
+        catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T uncheckedCast(Object value) {
+        return (T)value;
+    }
+
+    private interface HandleResolver {
+        MethodHandle resolve(MethodHandles.Lookup lookup) throws IllegalAccessException;
+    }
+
+}
@@ -0,0 +1,126 @@
+package org.beat.util;
+
+import org.beat.errors.ConversionException;
+import org.beat.io.CharOutput;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Standard base64 with padding, written char by char into the output and
+// read from any char sequence, so no intermediate string is needed.
+public class Base64Chars {
+
+    private Base64Chars() {}
+
+    private static final char[] DIGITS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+    private static final int[] VALUES = new int[128];
+
+    static {
+        Arrays.fill(VALUES, -1);
+
+        for (var i = 0; i < DIGITS.length; i++) {
+            VALUES[DIGITS[i]] = i;
+        }
+    }
+
+    public static void write(CharOutput output, byte[] data) {
+        write(output, data, 0, data.length);
+    }
+
+    public static void write(CharOutput output, byte[] data, int offset, int length) {
+        var end = offset + length;
+        var i = offset;
+
+        for (; i + 2 < end; i += 3) {
+            writeGroup(output, data[i], data[i + 1], data[i + 2], 4);
+        }
+
+        if (end - i == 2) {
+            writeGroup(output, data[i], data[i + 1], (byte)0, 3);
+        }
+        else if (end - i == 1) {
+            writeGroup(output, data[i], (byte)0, (byte)0, 2);
+        }
+    }
+
+    // Writes the remaining bytes, the position of the buffer is not changed
+    public static void write(CharOutput output, ByteBuffer data) {
+        if (data.hasArray()) {
+            write(output, data.array(), data.arrayOffset() + data.position(), data.remaining());
+            return;
+        }
+
+        var end = data.limit();
+        var i = data.position();
+
+        for (; i + 2 < end; i += 3) {
+            writeGroup(output, data.get(i), data.get(i + 1), data.get(i + 2), 4);
+        }
+
+        if (end - i == 2) {
+            writeGroup(output, data.get(i), data.get(i + 1), (byte)0, 3);
+        }
+        else if (end - i == 1) {
+            writeGroup(output, data.get(i), (byte)0, (byte)0, 2);
+        }
+    }
+
+    // Writes the first digits of a group of three bytes, padding the rest
+    private static void writeGroup(CharOutput output, byte b0, byte b1, byte b2, int digits) {
+        var bits = (b0 & 0xFF) << 16 | (b1 & 0xFF) << 8 | (b2 & 0xFF);
+
+        output.write(DIGITS[bits >>> 18]);
+        output.write(DIGITS[(bits >>> 12) & 0x3F]);
+        output.write(digits > 2 ? DIGITS[(bits >>> 6) & 0x3F] : '=');
+        output.write(digits > 3 ? DIGITS[bits & 0x3F] : '=');
+    }
+
+    // Padding is optional
+    public static byte[] parse(CharSequence text) {
+        var length = text.length();
+
+        while (length > 0 && text.charAt(length - 1) == '=') {
+            length--;
+        }
+
+        if (length % 4 == 1 || text.length() - length > 2) {
+            throw new ConversionException("Invalid base64 length: " + text.length());
+        }
+
+        var result = new byte[length * 3 / 4];
+        var bits = 0;
+        var count = 0;
+        var index = 0;
+
+        for (var i = 0; i < length; i++) {
+            var c = text.charAt(i);
+            var value = (c < 128 ? VALUES[c] : -1);
+
+            if (value < 0) {
+                throw new ConversionException("Invalid base64 char: " + PP.str(c));
+            }
+
+            bits = bits << 6 | value;
+            count++;
+
+            if (count == 4) {
+                result[index++] = (byte)(bits >>> 16);
+                result[index++] = (byte)(bits >>> 8);
+                result[index++] = (byte)bits;
+                bits = 0;
+                count = 0;
+            }
+        }
+
+        if (count == 3) {
+            result[index++] = (byte)(bits >>> 10);
+            result[index] = (byte)(bits >>> 2);
+        }
+        else if (count == 2) {
+            result[index] = (byte)(bits >>> 4);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,67 @@
+package org.beat.util;
+
+import java.util.Map;
+
+// Open addressing table that can be queried with any CharSequence, so keys
+// being read do not need to be converted to String first.
+public class KeyTable<T> {
+
+    private final String[] keys;
+    private final Object[] values;
+    private final int mask;
+    private final int size;
+
+    public KeyTable(Map<String, ? extends T> entries) {
+        var capacity = 2;
+
+        while (capacity < entries.size() * 2) {
+            capacity <<= 1;
+        }
+
+        this.keys = new String[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.size = entries.size();
+
+        for (var entry : entries.entrySet()) {
+            var index = hash(entry.getKey()) & mask;
+
+            while (keys[index] != null) {
+                index = (index + 1) & mask;
+            }
+
+            keys[index] = entry.getKey();
+            values[index] = entry.getValue();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(CharSequence key) {
+        var length = key.length();
+
+        for (var index = hash(key) & mask; ; index = (index + 1) & mask) {
+            var current = keys[index];
+
+            if (current == null) {
+                return null;
+            }
+            else if (current.length() == length && current.contentEquals(key)) {
+                return (T)values[index];
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int hash(CharSequence key) {
+        var h = 0;
+
+        for (var i = 0; i < key.length(); i++) {
+            h = 31 * h + key.charAt(i);
+        }
+
+        return h ^ (h >>> 16);
+    }
+}
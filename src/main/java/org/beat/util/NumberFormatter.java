@@ -0,0 +1,358 @@
+package org.beat.util;
+
+import org.beat.io.CharOutput;
+
+import java.math.BigInteger;
+
+// Writes numbers char by char into an output without creating strings.
+// Doubles and floats use the Schubfach algorithm by Raffaello Giulietti, so
+// they are printed with the shortest digits that parse back to the same
+// value, in the same layout as Double.toString and Float.toString.
+public class NumberFormatter {
+
+    private NumberFormatter() {}
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+
+    // 126-bit upper approximations of 10^-k, split in 63-bit halves
+    private static final long[] G1 = new long[K_MAX - K_MIN + 1];
+    private static final long[] G0 = new long[K_MAX - K_MIN + 1];
+
+    private static final long MASK_63 = (1L << 63) - 1;
+    private static final long MASK_32 = (1L << 32) - 1;
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+
+        for (var i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+
+        for (var k = K_MIN; k <= K_MAX; k++) {
+            var e = -k;
+            var r = flog2pow10(e) - 125;
+            BigInteger g;
+
+            if (e >= 0) {
+                var power = BigInteger.TEN.pow(e);
+                g = (r >= 0 ? power.shiftRight(r) : power.shiftLeft(-r));
+            }
+            else {
+                g = BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(-e));
+            }
+
+            g = g.add(BigInteger.ONE);
+
+            G1[k - K_MIN] = g.shiftRight(63).longValue();
+            G0[k - K_MIN] = g.longValue() & MASK_63;
+        }
+    }
+
+    public static void writeInt(CharOutput output, int value) {
+        writeLong(output, value);
+    }
+
+    public static void writeLong(CharOutput output, long value) {
+        if (value == Long.MIN_VALUE) {
+            output.write("-9223372036854775808");
+            return;
+        }
+        else if (value < 0) {
+            output.write('-');
+            value = -value;
+        }
+
+        writeDigits(output, value, countDigits(value), 0, Integer.MAX_VALUE);
+    }
+
+    public static void writeDouble(CharOutput output, double value) {
+        var bits = Double.doubleToRawLongBits(value);
+        var t = bits & ((1L << 52) - 1);
+        var bq = (int)(bits >>> 52) & 0x7FF;
+
+        if (bq == 0x7FF) {
+            output.write(t != 0 ? "NaN" : bits > 0 ? "Infinity" : "-Infinity");
+            return;
+        }
+
+        if (bits < 0) {
+            output.write('-');
+        }
+
+        if (bq != 0) {
+            var mq = 1075 - bq;
+            var c = (1L << 52) | t;
+
+            // Integers below 2^53 are printed as they are
+            if (0 < mq && mq < 53) {
+                var f = c >> mq;
+
+                if (f << mq == c) {
+                    writeDecimal(output, f, 0);
+                    return;
+                }
+            }
+
+            writeDouble(output, -mq, c, 0);
+        }
+        else if (t != 0) {
+            if (t < 3) {
+                writeDouble(output, -1074, 10 * t, -1);
+            }
+            else {
+                writeDouble(output, -1074, t, 0);
+            }
+        }
+        else {
+            output.write("0.0");
+        }
+    }
+
+    public static void writeFloat(CharOutput output, float value) {
+        var bits = Float.floatToRawIntBits(value);
+        var t = bits & ((1 << 23) - 1);
+        var bq = (bits >>> 23) & 0xFF;
+
+        if (bq == 0xFF) {
+            output.write(t != 0 ? "NaN" : bits > 0 ? "Infinity" : "-Infinity");
+            return;
+        }
+
+        if (bits < 0) {
+            output.write('-');
+        }
+
+        if (bq != 0) {
+            var mq = 150 - bq;
+            var c = (1 << 23) | t;
+
+            // Integers below 2^24 are printed as they are
+            if (0 < mq && mq < 24) {
+                var f = c >> mq;
+
+                if (f << mq == c) {
+                    writeDecimal(output, f, 0);
+                    return;
+                }
+            }
+
+            writeFloat(output, -mq, c, 0);
+        }
+        else if (t != 0) {
+            if (t < 8) {
+                writeFloat(output, -149, 10 * t, -1);
+            }
+            else {
+                writeFloat(output, -149, t, 0);
+            }
+        }
+        else {
+            output.write("0.0");
+        }
+    }
+
+    // Finds the decimal closest to c*2^q among the shortest ones that round to it
+    private static void writeDouble(CharOutput output, int q, long c, int dk) {
+        var out = (int)c & 1;
+        var cb = c << 2;
+        var cbr = cb + 2;
+        long cbl;
+        int k;
+
+        if (c != (1L << 52) || q == -1074) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        }
+        else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+
+        var h = q + flog2pow10(-k) + 2;
+        var g1 = G1[k - K_MIN];
+        var g0 = G0[k - K_MIN];
+        var vb = rop(g1, g0, cb << h);
+        var vbl = rop(g1, g0, cbl << h);
+        var vbr = rop(g1, g0, cbr << h);
+        var s = vb >> 2;
+
+        if (s >= 100) {
+            var sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            var tp10 = sp10 + 10;
+            var upin = vbl + out <= sp10 << 2;
+            var wpin = (tp10 << 2) + out <= vbr;
+
+            if (upin != wpin) {
+                writeDecimal(output, upin ? sp10 : tp10, k);
+                return;
+            }
+        }
+
+        var t = s + 1;
+        var uin = vbl + out <= s << 2;
+        var win = (t << 2) + out <= vbr;
+
+        if (uin != win) {
+            writeDecimal(output, uin ? s : t, k + dk);
+            return;
+        }
+
+        var cmp = vb - (s + t << 1);
+
+        writeDecimal(output, cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk);
+    }
+
+    private static void writeFloat(CharOutput output, int q, int c, int dk) {
+        var out = c & 1;
+        var cb = (long)c << 2;
+        var cbr = cb + 2;
+        long cbl;
+        int k;
+
+        if (c != (1 << 23) || q == -149) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        }
+        else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+
+        var h = q + flog2pow10(-k) + 33;
+        var g = G1[k - K_MIN] + 1;
+        var vb = rop(g, cb << h);
+        var vbl = rop(g, cbl << h);
+        var vbr = rop(g, cbr << h);
+        var s = vb >> 2;
+
+        if (s >= 100) {
+            var sp10 = 10 * (int)(s * 1_717_986_919L >>> 34);
+            var tp10 = sp10 + 10;
+            var upin = vbl + out <= sp10 << 2;
+            var wpin = (tp10 << 2) + out <= vbr;
+
+            if (upin != wpin) {
+                writeDecimal(output, upin ? sp10 : tp10, k);
+                return;
+            }
+        }
+
+        var t = s + 1;
+        var uin = vbl + out <= s << 2;
+        var win = (t << 2) + out <= vbr;
+
+        if (uin != win) {
+            writeDecimal(output, uin ? s : t, k + dk);
+            return;
+        }
+
+        var cmp = vb - (s + t << 1);
+
+        writeDecimal(output, cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk);
+    }
+
+    // Writes f*10^e like Double.toString: plain between 10^-3 and 10^7,
+    // computerized scientific notation otherwise.
+    private static void writeDecimal(CharOutput output, long f, int e) {
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+
+        var length = countDigits(f);
+        var exponent = e + length - 1;
+
+        if (exponent >= 0 && exponent < 7) {
+            var integers = exponent + 1;
+
+            if (length <= integers) {
+                writeDigits(output, f, length, 0, length);
+                writeZeros(output, integers - length);
+                output.write(".0");
+            }
+            else {
+                writeDigits(output, f, length, 0, integers);
+                output.write('.');
+                writeDigits(output, f, length, integers, length);
+            }
+        }
+        else if (exponent < 0 && exponent >= -3) {
+            output.write("0.");
+            writeZeros(output, -exponent - 1);
+            writeDigits(output, f, length, 0, length);
+        }
+        else {
+            writeDigits(output, f, length, 0, 1);
+            output.write('.');
+
+            if (length > 1) {
+                writeDigits(output, f, length, 1, length);
+            }
+            else {
+                output.write('0');
+            }
+
+            output.write('E');
+            writeLong(output, exponent);
+        }
+    }
+
+    // Writes the digits of value between positions from and to, counting from the left
+    private static void writeDigits(CharOutput output, long value, int length, int from, int to) {
+        to = Math.min(to, length);
+
+        for (var i = from; i < to; i++) {
+            var power = POWERS_OF_TEN[length - 1 - i];
+
+            output.write((char)('0' + (value / power) % 10));
+        }
+    }
+
+    private static void writeZeros(CharOutput output, int count) {
+        for (var i = 0; i < count; i++) {
+            output.write('0');
+        }
+    }
+
+    private static int countDigits(long value) {
+        var length = 1;
+
+        while (length < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[length]) {
+            length++;
+        }
+
+        return length;
+    }
+
+    private static long rop(long g1, long g0, long cp) {
+        var x1 = Math.multiplyHigh(g0, cp);
+        var y0 = g1 * cp;
+        var y1 = Math.multiplyHigh(g1, cp);
+        var z = (y0 >>> 1) + x1;
+        var vbp = y1 + (z >>> 63);
+
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    private static int rop(long g, long cp) {
+        var x1 = Math.multiplyHigh(g, cp);
+        var vbp = x1 >>> 31;
+
+        return (int)(vbp | (x1 & MASK_32) + MASK_32 >>> 32);
+    }
+
+    private static int flog10pow2(int e) {
+        return (int)(e * 661_971_961_083L >> 41);
+    }
+
+    private static int flog10threeQuartersPow2(int e) {
+        return (int)(e * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    private static int flog2pow10(int e) {
+        return (int)(e * 913_124_641_741L >> 38);
+    }
+}
@@ -0,0 +1,352 @@
+package org.beat.util;
+
+import org.beat.errors.ConversionException;
+import org.beat.types.LazyNumber;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+// Number parsing straight from the characters of a token, without going
+// through BigInteger, BigDecimal or regular expressions.
+public class Numbers {
+
+    private Numbers() {}
+
+    private static final double[] DOUBLE_POWERS = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22,
+    };
+
+    private static final float[] FLOAT_POWERS = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f,
+    };
+
+    private static final BigDecimal INT_MIN = BigDecimal.valueOf(Integer.MIN_VALUE);
+    private static final BigDecimal INT_MAX = BigDecimal.valueOf(Integer.MAX_VALUE);
+
+    public static boolean isSupported(Class<?> type) {
+        return type == int.class || type == Integer.class
+                || type == long.class || type == Long.class
+                || type == double.class || type == Double.class
+                || type == float.class || type == Float.class
+                || type == short.class || type == Short.class
+                || type == byte.class || type == Byte.class;
+    }
+
+    // Returns null if the text is not a number that fits the type syntax
+    public static Object parse(CharSequence text, Class<?> type) {
+        if (type == int.class || type == Integer.class) {
+            return isInteger(text) ? (int)parseLong(text, Integer.MIN_VALUE, Integer.MAX_VALUE, type) : null;
+        }
+        else if (type == long.class || type == Long.class) {
+            return isInteger(text) ? parseLong(text, Long.MIN_VALUE, Long.MAX_VALUE, type) : null;
+        }
+        else if (type == double.class || type == Double.class) {
+            return isInteger(text) || isDecimal(text) ? parseDouble(text) : null;
+        }
+        else if (type == float.class || type == Float.class) {
+            return isInteger(text) || isDecimal(text) ? parseFloat(text) : null;
+        }
+        else if (type == short.class || type == Short.class) {
+            return isInteger(text) ? (short)parseLong(text, Short.MIN_VALUE, Short.MAX_VALUE, type) : null;
+        }
+        else if (type == byte.class || type == Byte.class) {
+            return isInteger(text) ? (byte)parseLong(text, Byte.MIN_VALUE, Byte.MAX_VALUE, type) : null;
+        }
+        return null;
+    }
+
+    // Same as [+-]?[0-9]+
+    public static boolean isInteger(CharSequence text) {
+        var length = text.length();
+        var index = skipSign(text);
+
+        if (index == length) {
+            return false;
+        }
+
+        return skipDigits(text, index) == length;
+    }
+
+    // Same as [+-]?[0-9]*\.[0-9]+([eE][+-]?[0-9]+)?
+    public static boolean isDecimal(CharSequence text) {
+        var length = text.length();
+        var index = skipDigits(text, skipSign(text));
+
+        if (index == length || text.charAt(index) != '.') {
+            return false;
+        }
+
+        var fraction = index + 1;
+
+        index = skipDigits(text, fraction);
+
+        if (index == fraction) {
+            return false;
+        }
+        else if (index == length) {
+            return true;
+        }
+        else if (text.charAt(index) != 'e' && text.charAt(index) != 'E') {
+            return false;
+        }
+
+        index++;
+
+        if (index < length && (text.charAt(index) == '+' || text.charAt(index) == '-')) {
+            index++;
+        }
+
+        var exponent = index;
+
+        index = skipDigits(text, exponent);
+
+        return index > exponent && index == length;
+    }
+
+    // The text must be an integer, BigInteger is only used when it does not fit in a long
+    public static Number parseInteger(CharSequence text, boolean smallest) {
+        long value;
+
+        try {
+            value = parseLong(text);
+        }
+        catch (ConversionException e) {
+            return new BigInteger(text.toString());
+        }
+
+        if (smallest && value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            return (int)value;
+        }
+
+        return value;
+    }
+
+    // The text must be a decimal, BigDecimal is only used when it does not fit
+    // in a double: it overflows, or it underflows to zero or a subnormal value.
+    public static Number parseDecimal(CharSequence text) {
+        var value = parseDouble(text);
+
+        if (Double.isInfinite(value) || (Math.abs(value) < Double.MIN_NORMAL && hasNonZeroDigit(text))) {
+            return new BigDecimal(text.toString());
+        }
+
+        return value;
+    }
+
+    private static boolean hasNonZeroDigit(CharSequence text) {
+        var length = text.length();
+
+        for (var i = 0; i < length; i++) {
+            var c = text.charAt(i);
+
+            if (c == 'e' || c == 'E') {
+                return false;
+            }
+            else if (c >= '1' && c <= '9') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public static int parseInt(CharSequence text) {
+        return (int)parseLong(text, Integer.MIN_VALUE, Integer.MAX_VALUE, int.class);
+    }
+
+    public static long parseLong(CharSequence text) {
+        return parseLong(text, Long.MIN_VALUE, Long.MAX_VALUE, long.class);
+    }
+
+    // Narrows a decoded number, values out of the int range are rejected instead of truncated
+    public static int toInt(Number value, Class<?> type) {
+        if (value instanceof LazyNumber) {
+            value = ((LazyNumber)value).getValue();
+        }
+
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            var number = value.longValue();
+
+            if (number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) {
+                return (int)number;
+            }
+        }
+        else if (value instanceof Double || value instanceof Float) {
+            var number = value.doubleValue();
+
+            if (number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) {
+                return (int)number;
+            }
+        }
+        else if (value instanceof BigInteger) {
+            if (((BigInteger)value).bitLength() < Integer.SIZE) {
+                return value.intValue();
+            }
+        }
+        else {
+            BigDecimal number;
+
+            try {
+                number = value instanceof BigDecimal ? (BigDecimal)value : new BigDecimal(value.toString());
+            }
+            catch (NumberFormatException e) {
+                throw new ConversionException(value.getClass(), type);
+            }
+
+            if (number.compareTo(INT_MIN) >= 0 && number.compareTo(INT_MAX) <= 0) {
+                return number.intValue();
+            }
+        }
+
+        throw outOfRange(value.toString(), type);
+    }
+
+    // The text must be an integer, digits are accumulated as a negative
+    // number so the minimum value can be represented.
+    private static long parseLong(CharSequence text, long min, long max, Class<?> type) {
+        var length = text.length();
+        var negative = text.charAt(0) == '-';
+        var limit = negative ? min : -max;
+        var limitBeforeMultiply = limit / 10;
+        var result = 0L;
+
+        for (var i = skipSign(text); i < length; i++) {
+            var digit = text.charAt(i) - '0';
+
+            if (result < limitBeforeMultiply) {
+                throw outOfRange(text, type);
+            }
+
+            result *= 10;
+
+            if (result < limit + digit) {
+                throw outOfRange(text, type);
+            }
+
+            result -= digit;
+        }
+
+        return negative ? result : -result;
+    }
+
+    // The text must be an integer or a decimal
+    public static double parseDouble(CharSequence text) {
+        var result = parseExact(text, 15, DOUBLE_POWERS.length - 1, false);
+
+        if (Double.isNaN(result)) {
+            return Double.parseDouble(text.toString());
+        }
+
+        return result;
+    }
+
+    // The text must be an integer or a decimal
+    public static float parseFloat(CharSequence text) {
+        var result = parseExact(text, 7, FLOAT_POWERS.length - 1, true);
+
+        if (Double.isNaN(result)) {
+            return Float.parseFloat(text.toString());
+        }
+
+        return (float)result;
+    }
+
+    // When the significant digits and the power of ten are both exact in
+    // floating point, a single multiplication or division is correctly
+    // rounded. Returns NaN when that is not the case.
+    private static double parseExact(CharSequence text, int maxDigits, int maxPower, boolean single) {
+        var length = text.length();
+        var negative = text.charAt(0) == '-';
+        var index = skipSign(text);
+        var mantissa = 0L;
+        var digits = 0;
+        var exponent = 0;
+        var fraction = false;
+
+        for (; index < length; index++) {
+            var c = text.charAt(index);
+
+            if (c == '.') {
+                fraction = true;
+                continue;
+            }
+            else if (c < '0' || c > '9') {
+                break;
+            }
+
+            if (mantissa != 0 || c != '0') {
+                if (++digits > maxDigits) {
+                    return Double.NaN;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+            }
+
+            if (fraction) {
+                exponent--;
+            }
+        }
+
+        if (index < length) {
+            // exponent part, always well formed at this point
+            index++;
+
+            var negativeExponent = text.charAt(index) == '-';
+            var value = 0;
+
+            if (text.charAt(index) == '+' || negativeExponent) {
+                index++;
+            }
+
+            for (; index < length; index++) {
+                if (value > 1000) {
+                    return Double.NaN;
+                }
+                value = value * 10 + (text.charAt(index) - '0');
+            }
+
+            exponent += (negativeExponent ? -value : value);
+        }
+
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        else if (exponent < -maxPower || exponent > maxPower) {
+            return Double.NaN;
+        }
+
+        double result;
+
+        if (single) {
+            var value = (float)mantissa;
+            result = (exponent < 0 ? value / FLOAT_POWERS[-exponent] : value * FLOAT_POWERS[exponent]);
+        }
+        else {
+            var value = (double)mantissa;
+            result = (exponent < 0 ? value / DOUBLE_POWERS[-exponent] : value * DOUBLE_POWERS[exponent]);
+        }
+
+        return negative ? -result : result;
+    }
+
+    private static int skipSign(CharSequence text) {
+        if (text.length() > 0 && (text.charAt(0) == '+' || text.charAt(0) == '-')) {
+            return 1;
+        }
+        return 0;
+    }
+
+    private static int skipDigits(CharSequence text, int index) {
+        var length = text.length();
+
+        while (index < length && text.charAt(index) >= '0' && text.charAt(index) <= '9') {
+            index++;
+        }
+
+        return index;
+    }
+
+    private static ConversionException outOfRange(CharSequence text, Class<?> type) {
+        return new ConversionException("Number " + text + " is out of range for " + type.getSimpleName() + ".");
+    }
+}
@@ -0,0 +1,7 @@
+package org.beat.util;
+
+// Counterpart of ObjIntConsumer for booleans, missing in java.util.function
+@FunctionalInterface
+public interface ObjBooleanConsumer<T> {
+    void accept(T instance, boolean value);
+}
@@ -3,6 +3,7 @@ package org.beat.util;
 import org.beat.errors.ConversionException;
 import org.beat.errors.BeatException;
 
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
@@ -87,8 +88,8 @@ public class ReflectUtils {
 
             return str.charAt(0);
         }
-        else if (value instanceof Number && type == Integer.class) {
-            return ((Number)value).intValue();
+        else if (value instanceof Number && (type == Integer.class || type == int.class)) {
+            return Numbers.toInt((Number)value, type);
         }
         else if (type == String.class) {
             return value.toString();
@@ -99,7 +100,9 @@ public class ReflectUtils {
     }
 
     public static boolean isCompatible(Object value, Class<?> type) {
-        return type.isInstance(value)
-                || type == boolean.class && value instanceof Boolean;
+        if (type.isPrimitive()) {
+            return MethodType.methodType(type).wrap().returnType().isInstance(value);
+        }
+        return type.isInstance(value);
     }
 }
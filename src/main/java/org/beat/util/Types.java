@@ -0,0 +1,80 @@
+package org.beat.util;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Objects;
+
+public class Types {
+
+    private Types() {}
+
+    public static ParameterizedType parameterized(Class<?> rawType, Type... arguments) {
+        return new ParameterizedTypeImpl(rawType, arguments.clone(), rawType.getDeclaringClass());
+    }
+
+    // Compatible with the JDK implementation, so both can be used as map keys
+    private static class ParameterizedTypeImpl implements ParameterizedType {
+        private final Class<?> rawType;
+        private final Type[] arguments;
+        private final Type ownerType;
+
+        private ParameterizedTypeImpl(Class<?> rawType, Type[] arguments, Type ownerType) {
+            this.rawType = rawType;
+            this.arguments = arguments;
+            this.ownerType = ownerType;
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return arguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return rawType;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return ownerType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ParameterizedType)) {
+                return false;
+            }
+            var other = (ParameterizedType)o;
+            return Objects.equals(rawType, other.getRawType())
+                    && Objects.equals(ownerType, other.getOwnerType())
+                    && Arrays.equals(arguments, other.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(arguments) ^ Objects.hashCode(ownerType) ^ Objects.hashCode(rawType);
+        }
+
+        @Override
+        public String toString() {
+            var result = new StringBuilder(rawType.getTypeName());
+
+            result.append('<');
+
+            for (var i = 0; i < arguments.length; i++) {
+                if (i > 0) {
+                    result.append(", ");
+                }
+                result.append(arguments[i].getTypeName());
+            }
+
+            result.append('>');
+
+            return result.toString();
+        }
+    }
+}
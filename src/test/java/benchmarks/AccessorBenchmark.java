@@ -0,0 +1,175 @@
+package benchmarks;
+
+import org.beat.util.Accessors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import sample0.types.Artist;
+import sample0.types.Medium;
+import sample0.types.Release;
+import sample0.types.Song;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Compares reflective field and method access with the accessors generated
+ * by {@link Accessors} on the sample0 Release/Medium/Song types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessorBenchmark {
+
+    private Release release;
+
+    private Field[] songFields;
+    private Field[] mediumFields;
+    private Method artistGetter;
+    private Method artistSetter;
+
+    private List<Function<Object, Object>> songGetters;
+    private List<BiConsumer<Object, Object>> songSetters;
+    private List<Function<Object, Object>> mediumGetters;
+    private Function<Object, Object> artistGetterFn;
+    private BiConsumer<Object, Object> artistSetterFn;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        release = new Release();
+        release.name = "Release";
+        release.year = 2000;
+        release.by = new ArrayList<>();
+        release.mediums = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            var artist = new Artist();
+            artist.setName("Artist " + i);
+            release.by.add(artist);
+        }
+
+        for (int m = 0; m < 10; m++) {
+            var medium = new Medium();
+            medium.number = m;
+            medium.songs = new ArrayList<>();
+
+            for (int s = 0; s < 20; s++) {
+                var song = new Song();
+                song.track = s;
+                song.name = "Song " + s;
+                song.duration = Duration.ofSeconds(180 + s);
+                medium.songs.add(song);
+            }
+
+            release.mediums.add(medium);
+        }
+
+        songFields = Song.class.getFields();
+        mediumFields = Medium.class.getFields();
+        artistGetter = Artist.class.getMethod("getName");
+        artistSetter = Artist.class.getMethod("setName", String.class);
+
+        songGetters = new ArrayList<>();
+        songSetters = new ArrayList<>();
+        for (var field : songFields) {
+            songGetters.add(Accessors.getter(field));
+            songSetters.add(Accessors.setter(field));
+        }
+
+        mediumGetters = new ArrayList<>();
+        for (var field : mediumFields) {
+            mediumGetters.add(Accessors.getter(field));
+        }
+
+        artistGetterFn = Accessors.getter(artistGetter);
+        artistSetterFn = Accessors.setter(artistSetter);
+    }
+
+    @Benchmark
+    public void reflectiveRead(Blackhole bh) throws ReflectiveOperationException {
+        for (var artist : release.by) {
+            bh.consume(artistGetter.invoke(artist));
+        }
+        for (var medium : release.mediums) {
+            for (var field : mediumFields) {
+                bh.consume(field.get(medium));
+            }
+            for (var song : medium.songs) {
+                for (var field : songFields) {
+                    bh.consume(field.get(song));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void generatedRead(Blackhole bh) {
+        for (var artist : release.by) {
+            bh.consume(artistGetterFn.apply(artist));
+        }
+        for (var medium : release.mediums) {
+            for (var getter : mediumGetters) {
+                bh.consume(getter.apply(medium));
+            }
+            for (var song : medium.songs) {
+                for (var getter : songGetters) {
+                    bh.consume(getter.apply(song));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void reflectiveWrite() throws ReflectiveOperationException {
+        for (var artist : release.by) {
+            artistSetter.invoke(artist, "Name");
+        }
+        for (var medium : release.mediums) {
+            for (var song : medium.songs) {
+                for (var field : songFields) {
+                    field.set(song, field.get(song));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void generatedWrite() {
+        for (var artist : release.by) {
+            artistSetterFn.accept(artist, "Name");
+        }
+        for (var medium : release.mediums) {
+            for (var song : medium.songs) {
+                for (var i = 0; i < songSetters.size(); i++) {
+                    songSetters.get(i).accept(song, songGetters.get(i).apply(song));
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AccessorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
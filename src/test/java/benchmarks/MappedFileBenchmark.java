@@ -0,0 +1,94 @@
+package benchmarks;
+
+import org.beat.Beat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams the items of a synthetic top-level array from a file, decoding
+ * the mapped bytes against a {@link java.io.Reader} based input. The
+ * default size goes over the 2 GB limit of a single mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx512m"})
+public class MappedFileBenchmark {
+
+    @Param({"4096"})
+    public int megabytes;
+
+    private Beat beat;
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        beat = Beat.builder().build();
+        file = Files.createTempFile("beat-benchmark", ".st");
+
+        var target = (long)megabytes << 20;
+        var written = 0L;
+
+        try (var writer = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), 1 << 16)) {
+            writer.write("Items [\n");
+
+            for (var i = 0; written < target; i++) {
+                var item = "  Item { id: " + i + ", name: \"Item n\u00famero " + i
+                        + "\", price: " + i + ".25, tags: [a, b, c] },\n";
+
+                writer.write(item);
+                written += item.length();
+            }
+
+            writer.write("]\n");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long readerInput() throws IOException {
+        try (var items = beat.streamText(Files.newBufferedReader(file, StandardCharsets.UTF_8), Map.class)) {
+            return items.count();
+        }
+    }
+
+    @Benchmark
+    public long mappedFile() {
+        try (var items = beat.streamFile(file, Map.class)) {
+            return items.count();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MappedFileBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,169 @@
+package benchmarks;
+
+import org.beat.Beat;
+import org.beat.errors.BeatException;
+import org.beat.formats.text.TextDecoder;
+import org.beat.io.CharInput;
+import org.beat.io.TextLocation;
+import org.beat.io.standard.ReaderInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the block-buffered {@link ReaderInput} against the previous
+ * char-by-char implementation when decoding large documents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReaderInputBenchmark {
+
+    @Param({"1000", "50000"})
+    public int items;
+
+    @Param({"1024", "8192"})
+    public int blockSize;
+
+    private String text;
+
+    @Setup
+    public void setup() {
+        var buffer = new StringBuilder();
+
+        buffer.append("Items [\n");
+
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                buffer.append(",\n");
+            }
+            buffer.append("  Item { id: ").append(i)
+                    .append(", name: \"Item number ").append(i)
+                    .append("\", price: ").append(i).append(".25")
+                    .append(", tags: [a, b, c] }");
+        }
+
+        buffer.append("\n]");
+
+        text = buffer.toString();
+    }
+
+    @Benchmark
+    public Object legacyReaderInput() {
+        return new TextDecoder().read(new LegacyReaderInput(new StringReader(text)));
+    }
+
+    @Benchmark
+    public Object bufferedReaderInput() {
+        return new TextDecoder().read(new ReaderInput(new StringReader(text), null, blockSize));
+    }
+
+    @Benchmark
+    public Object beatReadText() {
+        return Beat.builder().build().readText(new StringReader(text));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReaderInputBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    /**
+     * Copy of the original implementation: one {@link Reader#read()} call
+     * and one boxed {@link Character} per char.
+     */
+    private static class LegacyReaderInput implements CharInput {
+
+        private final Reader reader;
+
+        private Character buffer;
+        private int line;
+        private int column;
+
+        LegacyReaderInput(Reader reader) {
+            this.reader = reader;
+        }
+
+        private Character load() {
+            if (buffer == null) {
+                int c;
+
+                try {
+                    c = reader.read();
+                }
+                catch (IOException e) {
+                    throw new BeatException(e);
+                }
+
+                if (c == -1) {
+                    return null;
+                }
+                else if (c == '\n') {
+                    line++;
+                    column = 0;
+                }
+                else {
+                    column++;
+                }
+
+                buffer = (char)c;
+            }
+
+            return buffer;
+        }
+
+        @Override
+        public boolean isAlive() {
+            return load() != null;
+        }
+
+        @Override
+        public char pull() {
+            var c = load();
+
+            if (c == null) {
+                throw new BeatException("Unexpected end of input.");
+            }
+
+            buffer = null;
+
+            return c;
+        }
+
+        @Override
+        public char peek() {
+            var c = load();
+
+            if (c == null) {
+                throw new BeatException("Unexpected end of input.");
+            }
+
+            return c;
+        }
+
+        @Override
+        public TextLocation getLocation() {
+            return new TextLocation(line, column, null);
+        }
+    }
+}
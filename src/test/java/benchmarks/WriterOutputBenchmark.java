@@ -0,0 +1,93 @@
+package benchmarks;
+
+import org.beat.formats.text.TextEncoder;
+import org.beat.io.standard.AppendableOutput;
+import org.beat.io.standard.PrettyPrintOutput;
+import org.beat.io.standard.WriterOutput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link AppendableOutput} and {@link PrettyPrintOutput}, which
+ * append every char to the writer, against the block-buffered
+ * {@link WriterOutput} when encoding large documents to a stream writer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WriterOutputBenchmark {
+
+    @Param({"1000", "50000"})
+    public int items;
+
+    @Param({"false", "true"})
+    public boolean prettyPrint;
+
+    private List<Map<String, Object>> document;
+    private TextEncoder encoder;
+
+    @Setup
+    public void setup() {
+        document = new ArrayList<>();
+        encoder = new TextEncoder();
+
+        for (int i = 0; i < items; i++) {
+            var item = new LinkedHashMap<String, Object>();
+            item.put("id", i);
+            item.put("name", "Item number " + i);
+            item.put("price", i + 0.25);
+            item.put("tags", List.of("a", "b", "c"));
+            document.add(item);
+        }
+    }
+
+    // Every char goes through the encoder of the writer
+    private static Writer newWriter() {
+        return new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void appendableOutput() throws Exception {
+        try (var writer = newWriter()) {
+            encoder.write(document, prettyPrint ? new PrettyPrintOutput(writer) : new AppendableOutput(writer));
+        }
+    }
+
+    @Benchmark
+    public void writerOutput() {
+        try (var output = new WriterOutput(newWriter(), prettyPrint)) {
+            encoder.write(document, output);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WriterOutputBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -1,10 +1,25 @@
 package org.beat;
 
+import org.beat.errors.BeatException;
+import org.beat.errors.UnknownReferenceException;
+import org.beat.formats.text.NumberMode;
+import org.beat.types.LazyNumber;
+import org.beat.types.standard.DefaultTypedObjectImpl;
 import org.junit.jupiter.api.Test;
+import util.CustomAssertions.TestRunnable;
 
+import java.io.StringReader;
+import java.math.BigInteger;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static util.CustomAssertions.assertException;
+import static util.CustomAssertions.assertInstanceOf;
 
 class BeatTest {
 
@@ -52,4 +67,140 @@ class BeatTest {
         assertEquals("[<1>{},<2>{},<1>,<2>]", text);
     }
 
+    public static class NodeList {
+        public List<Node> nodes;
+    }
+
+    @Test
+    void testProducerCacheIsSharedByDecoders() {
+        var beat = Beat.builder().build();
+        var cache = beat.getProducerCache();
+
+        var list1 = beat.readText("{nodes: [{id: 1}, {id: 2}, {id: 3}]}", NodeList.class);
+        var list2 = beat.readText("{nodes: [{id: 4}]}", NodeList.class);
+
+        assertEquals("3", list1.nodes.get(2).id);
+        assertEquals("4", list2.nodes.get(0).id);
+        assertSame(cache, beat.newTextDecoder().getProducerCache());
+        // NodeList, List<Node>, Node and String producers are only created once
+        assertEquals(4, cache.getMissCount());
+        assertEquals(8, cache.getHitCount());
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    void testProducerCacheSizeLimit() {
+        var beat = Beat.builder().producerCacheSize(0).build();
+
+        beat.readText("{nodes: [{id: 1}, {id: 2}]}", NodeList.class);
+
+        assertEquals(0, beat.getProducerCache().size());
+        assertEquals(6, beat.getProducerCache().getMissCount());
+    }
+
+    @Test
+    void testExaminerCacheIsSharedByEncoders() {
+        var beat = Beat.builder().build();
+        var cache = beat.getExaminerCache();
+        var node = new Node();
+        var typed = new DefaultTypedObjectImpl("T");
+
+        assertSame(cache, beat.newTextEncoder().getExaminerCache());
+        assertSame(cache.getExaminer(node), cache.getExaminer(new Node()));
+        assertSame(cache.getExaminer(typed), cache.getExaminer(new DefaultTypedObjectImpl("T")));
+        assertEquals("T", cache.getExaminer(typed).getTypeName());
+        assertEquals("U", cache.getExaminer(new DefaultTypedObjectImpl("U")).getTypeName());
+        assertEquals("[T{},U{}]", beat.writeText(List.of(typed, new DefaultTypedObjectImpl("U"))));
+    }
+
+    @Test
+    void testBuilderWithNumberMode() {
+        var beat = Beat.builder()
+                .numberMode(NumberMode.LAZY)
+                .build();
+        var text = "{a:12345678901234567890,b:0.1000}";
+        var value = (Map<?, ?>)beat.readText(text);
+
+        assertInstanceOf(LazyNumber.class, value.get("a"));
+        assertEquals(text, beat.writeText(value));
+    }
+
+    @Test
+    void testStreamText() {
+        var beat = Beat.builder().build();
+        var closed = new boolean[1];
+        var reader = new StringReader("nodes [{id: 1}, {id: 2}, {id: 3},]") {
+            @Override
+            public void close() {
+                closed[0] = true;
+                super.close();
+            }
+        };
+
+        try (var nodes = beat.streamText(reader, Node.class)) {
+            assertEquals("1,2,3", nodes.map(node -> node.id).collect(Collectors.joining(",")));
+        }
+
+        assertTrue(closed[0]);
+        assertEquals(0, beat.streamText(new StringReader(" [ ] "), Node.class).count());
+        assertEquals(List.of(Map.of("a", BigInteger.ONE)),
+                beat.streamText(new StringReader("[{a: 1}]"), Object.class).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testReadDocuments() {
+        var beat = Beat.builder().build();
+        var text = "<n1>{id: 1}\n{id: 2}\n\n<n1>{id: 3}  \n";
+
+        try (var documents = beat.readDocuments(new StringReader(text), Node.class)) {
+            assertEquals("1", documents.next().id);
+            assertEquals("2", documents.next().id);
+            assertTrue(documents.hasNext());
+            assertEquals("3", documents.next().id);
+            assertFalse(documents.hasNext());
+        }
+
+        try (var documents = beat.readDocuments(new StringReader("<n1>{id: 1} <n1>"), Node.class)) {
+            documents.next();
+            assertException(UnknownReferenceException.class, documents::next);
+        }
+
+        try (var documents = beat.readDocuments(new StringReader("<n1>{id: 1} <n1>"), Node.class, false)) {
+            assertSame(documents.next(), documents.next());
+        }
+
+        try (var documents = beat.readDocuments(new StringReader("{a: 1}\n{b: 2}"), Object.class)) {
+            assertEquals(Map.of("a", BigInteger.ONE), documents.next());
+            assertEquals(Map.of("b", BigInteger.TWO), documents.next());
+            assertFalse(documents.hasNext());
+        }
+    }
+
+    public static class FaultyText {
+        public String getValue() { throw new IllegalStateException("boom"); }
+        public void setValue(String value) { throw new IllegalStateException("boom"); }
+    }
+
+    public static class FaultyCount {
+        public int getCount() { throw new IllegalStateException("boom"); }
+        public void setCount(int count) { throw new IllegalStateException("boom"); }
+    }
+
+    @Test
+    void testAccessorFailuresAreWrapped() {
+        var beat = Beat.builder().build();
+        var cases = List.<TestRunnable>of(
+                () -> beat.writeText(new FaultyText()),
+                () -> beat.readText("{value: a}", FaultyText.class),
+                () -> beat.writeText(new FaultyCount()),
+                () -> beat.readText("{count: 1}", FaultyCount.class)
+        );
+
+        for (var runnable : cases) {
+            var e = assertException(BeatException.class, runnable);
+
+            assertEquals("java.lang.IllegalStateException: boom", e.getMessage());
+        }
+    }
+
 }
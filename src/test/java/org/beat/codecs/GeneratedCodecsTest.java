@@ -0,0 +1,181 @@
+package org.beat.codecs;
+
+import org.beat.Beat;
+import org.beat.annotations.BeatCodec;
+import org.beat.codecs.standard.GeneratedCodecs;
+import org.beat.errors.BeatException;
+import org.beat.examiners.PrimitiveKind;
+import org.beat.examiners.standard.object.ClassObjectExaminer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeneratedCodecsTest {
+
+    @BeatCodec
+    public static class Point {
+        public Integer x;
+        public Integer y;
+    }
+
+    @BeatCodec
+    public static class Shape {
+        private String name;
+        private boolean closed;
+
+        public List<Point> points;
+        public Map<String, List<Point>> groups;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public boolean isClosed() {
+            return closed;
+        }
+
+        public void setClosed(boolean closed) {
+            this.closed = closed;
+        }
+    }
+
+    public interface Labeled {
+        String KIND = "labeled";
+
+        default String getLabel() {
+            return "label";
+        }
+
+        static String getDefaultLabel() {
+            return "default";
+        }
+    }
+
+    public static class Base {
+        public static int count;
+
+        public static void setCount(int value) {
+            count = value;
+        }
+    }
+
+    @BeatCodec
+    public static class Tag extends Base implements Labeled {
+        public String text;
+
+        public void isVoid() {}
+    }
+
+    public static class Plain {
+        public String value;
+    }
+
+    @Test
+    void testCodecIsGenerated() {
+        var codec = GeneratedCodecs.find(Shape.class, "shape");
+
+        assertNotNull(codec);
+        assertEquals("org.beat.codecs.GeneratedCodecsTest_Shape_BeatCodec", codec.getClass().getName());
+        assertEquals("shape", codec.getTypeName());
+        assertEquals(List.of("points", "groups", "name", "closed"), List.copyOf(codec.getKeys(new Shape())));
+        assertNull(GeneratedCodecs.find(Plain.class, "plain"));
+    }
+
+    @Test
+    void testKeysMatchReflection() {
+        var codec = GeneratedCodecs.find(Tag.class, null);
+        var examiner = new ClassObjectExaminer(Tag.class);
+        var tag = new Tag();
+
+        assertEquals(Set.copyOf(examiner.getKeys(tag)), Set.copyOf(codec.getKeys(tag)));
+        assertEquals("labeled", codec.getValue(tag, "KIND"));
+        assertEquals("label", codec.getValue(tag, "label"));
+        assertNull(codec.getTypeHint("defaultLabel"));
+    }
+
+    @Test
+    void testPrimitiveGetters() {
+        var codec = GeneratedCodecs.find(Shape.class, null);
+        var shape = new Shape();
+        shape.setClosed(true);
+
+        assertEquals(PrimitiveKind.BOOLEAN, codec.getKind(shape, "closed"));
+        assertEquals(PrimitiveKind.NONE, codec.getKind(shape, "name"));
+        assertTrue(codec.getBoolean(shape, "closed"));
+        assertThrows(BeatException.class, () -> codec.getInt(shape, "closed"));
+    }
+
+    @Test
+    void testTypeHintsMatchReflection() throws ReflectiveOperationException {
+        var codec = GeneratedCodecs.find(Shape.class, null);
+
+        assertEquals(Shape.class.getField("points").getGenericType(), codec.getTypeHint("points"));
+        assertEquals(Shape.class.getField("groups").getGenericType(), codec.getTypeHint("groups"));
+        assertEquals(codec.getTypeHint("groups"), Shape.class.getField("groups").getGenericType());
+        assertEquals(Shape.class.getField("groups").getGenericType().hashCode(), codec.getTypeHint("groups").hashCode());
+        assertEquals(String.class, codec.getTypeHint("name"));
+        assertEquals(boolean.class, codec.getTypeHint("closed"));
+        assertNull(codec.getTypeHint("unknown"));
+    }
+
+    @Test
+    void testReadWithGeneratedCodec() {
+        var beat = Beat.builder()
+                .withObject(Shape.class)
+                .withObject(Point.class)
+                .build();
+
+        var shape = beat.readText("Shape{name: square, points: [Point{x: 0, y: 0}, {x: 1, y: 0}]}", Shape.class);
+
+        assertEquals("square", shape.getName());
+        assertFalse(shape.isClosed());
+        assertEquals(2, shape.points.size());
+        assertEquals(1, shape.points.get(1).x);
+    }
+
+    @Test
+    void testWriteWithGeneratedCodec() {
+        var point = new Point();
+        point.x = 1;
+        point.y = 2;
+
+        var shape = new Shape();
+        shape.setName("line");
+        shape.setClosed(true);
+        shape.points = List.of(point);
+
+        var beat = Beat.builder()
+                .withObject(Shape.class)
+                .build();
+        var text = beat.writeText(shape);
+        var copy = beat.readText(text, Shape.class);
+
+        assertTrue(text.startsWith("Shape"));
+        assertEquals("line", copy.getName());
+        assertTrue(copy.isClosed());
+        assertEquals(2, copy.points.get(0).y);
+    }
+
+    @Test
+    void testUnknownKey() {
+        var codec = GeneratedCodecs.find(Point.class, null);
+        var point = codec.beginInstance();
+
+        assertThrows(BeatException.class, () -> codec.set(point, "z", 1));
+        assertThrows(BeatException.class, () -> codec.getValue(point, "z"));
+    }
+
+}
@@ -0,0 +1,132 @@
+package org.beat.codecs;
+
+import org.beat.Beat;
+import org.beat.codecs.standard.TieredCodecs;
+import org.beat.producers.standard.StandardObjectProducers;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static util.CustomAssertions.assertInstanceOf;
+
+class TieredCodecsTest {
+
+    public static class Item {
+        public String name;
+        public Integer count;
+        public List<Tag> tags;
+    }
+
+    public static class Tag {
+        private String label;
+
+        public String getLabel() {
+            return label;
+        }
+
+        public void setLabel(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final String ITEM = "{name: box, count: 3, tags: [{label: a}, {label: b}]}";
+
+    @Test
+    void testHotTypeIsCompiled() throws InterruptedException {
+        var beat = Beat.builder().codecThreshold(3).build();
+        var tiers = beat.getProducerCache().getTiers();
+
+        for (var i = 0; i < 3; i++) {
+            beat.readText(ITEM, Item.class);
+        }
+
+        awaitCompiled(tiers, Item.class);
+        awaitCompiled(tiers, Tag.class);
+
+        var item = beat.readText(ITEM, Item.class);
+
+        assertEquals("box", item.name);
+        assertEquals(3, item.count);
+        assertEquals("b", item.tags.get(1).getLabel());
+        assertEquals(3, tiers.getUseCount(Item.class));
+    }
+
+    @Test
+    void testCompilationDoesNotBlockCallers() {
+        var tasks = new ArrayList<Runnable>();
+        var tiers = new TieredCodecs(2, tasks::add);
+        var producer = tiers.wrapProducer(Item.class, null, StandardObjectProducers.create(Item.class, null));
+
+        for (var i = 0; i < 5; i++) {
+            assertInstanceOf(Item.class, producer.beginInstance());
+        }
+
+        assertEquals(1, tasks.size());
+        assertFalse(tiers.isCompiled(Item.class));
+
+        tasks.forEach(Runnable::run);
+
+        assertTrue(tiers.isCompiled(Item.class));
+        assertInstanceOf(Item.class, producer.beginInstance());
+        assertEquals(2, tiers.getUseCount(Item.class));
+    }
+
+    @Test
+    void testOutputDoesNotChangeAfterCompiling() throws InterruptedException {
+        var beat = Beat.builder()
+                .withObject(Item.class)
+                .codecThreshold(2)
+                .build();
+        var item = beat.readText(ITEM, Item.class);
+        var first = beat.writeText(item);
+
+        assertEquals(first, beat.writeText(item));
+
+        awaitCompiled(beat.getExaminerCache().getTiers(), Item.class);
+
+        assertEquals(first, beat.writeText(item));
+        assertTrue(first.startsWith("Item"));
+    }
+
+    @Test
+    void testDisabledByDefault() {
+        var beat = Beat.builder().build();
+
+        for (var i = 0; i < 5; i++) {
+            beat.readText(ITEM, Item.class);
+        }
+
+        assertNull(beat.getProducerCache().getTiers());
+        assertNull(beat.getExaminerCache().getTiers());
+    }
+
+    @Test
+    void testEachBeatKeepsItsThreshold() {
+        var builder = Beat.builder().withObject(Item.class).codecThreshold(3);
+        var first = builder.build();
+        var second = builder.codecThreshold(0).build();
+
+        assertEquals(3, first.getProducerCache().getTiers().getThreshold());
+        assertNull(second.getProducerCache().getTiers());
+
+        for (var i = 0; i < 2; i++) {
+            first.readText(ITEM, Item.class);
+        }
+
+        assertEquals(2, first.getProducerCache().getTiers().getUseCount(Item.class));
+    }
+
+    private static void awaitCompiled(TieredCodecs tiers, Class<?> type) throws InterruptedException {
+        for (var i = 0; i < 1000 && !tiers.isCompiled(type); i++) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(tiers.isCompiled(type));
+    }
+
+}
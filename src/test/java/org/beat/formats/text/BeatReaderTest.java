@@ -0,0 +1,120 @@
+package org.beat.formats.text;
+
+import org.beat.errors.BeatException;
+import org.beat.errors.ConversionException;
+import org.beat.errors.InvalidSyntaxException;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static util.CustomAssertions.assertException;
+
+class BeatReaderTest {
+
+    @Test
+    void testTokens() {
+        var reader = new BeatReader("song<s1>{ name: 'Intro', track: 1, tags: [a, \"b c\"], length: duration(90), by: <a1>, extra: null }");
+        var tokens = new ArrayList<String>();
+
+        BeatToken token;
+
+        while ((token = reader.nextToken()) != BeatToken.END_DOCUMENT) {
+            if (token == BeatToken.BEGIN_OBJECT || token == BeatToken.BEGIN_ARRAY || token == BeatToken.BEGIN_VALUE
+                    || token.isEnd()) {
+                tokens.add(token.name());
+            }
+            else {
+                tokens.add(token.name() + "=" + reader.getText());
+            }
+        }
+
+        assertEquals(List.of(
+                "TYPE_NAME=song", "REFERENCE=s1", "BEGIN_OBJECT",
+                "KEY=name", "SCALAR=Intro",
+                "KEY=track", "SCALAR=1",
+                "KEY=tags", "BEGIN_ARRAY", "SCALAR=a", "SCALAR=b c", "END_ARRAY",
+                "KEY=length", "TYPE_NAME=duration", "BEGIN_VALUE", "SCALAR=90", "END_VALUE",
+                "KEY=by", "REFERENCE=a1",
+                "KEY=extra", "SCALAR=null",
+                "END_OBJECT"), tokens);
+        assertEquals(0, reader.getDepth());
+        assertEquals(BeatToken.END_DOCUMENT, reader.nextToken());
+    }
+
+    @Test
+    void testScalarAccessors() {
+        var reader = new BeatReader(new StringReader("[-42, 9000000000, 2.5, true, 'x', null, '7']"));
+
+        assertEquals(BeatToken.BEGIN_ARRAY, reader.nextToken());
+        assertEquals(1, reader.getDepth());
+
+        reader.nextToken();
+        assertEquals(-42, reader.getInt());
+        reader.nextToken();
+        assertEquals(9000000000L, reader.getLong());
+        assertException(ConversionException.class, reader::getInt);
+        reader.nextToken();
+        assertEquals(2.5, reader.getDouble());
+        assertException(ConversionException.class, reader::getLong);
+        reader.nextToken();
+        assertTrue(reader.getBoolean());
+        reader.nextToken();
+        assertEquals("x", reader.getString());
+        assertTrue(reader.isQuoted());
+        reader.nextToken();
+        assertTrue(reader.isNull());
+        reader.nextToken();
+        assertFalse(reader.isNull());
+        assertException(ConversionException.class, reader::getInt);
+        assertException(BeatException.class, reader::getKey);
+
+        assertEquals(BeatToken.END_ARRAY, reader.nextToken());
+        assertEquals(BeatToken.END_DOCUMENT, reader.nextToken());
+    }
+
+    @Test
+    void testSkipChildren() {
+        var reader = new BeatReader("{ skipped: x{ a: [1, [2, {b: 3}]], c: (4) }, kept: { d: [] }, last: 5 }");
+
+        assertEquals(BeatToken.BEGIN_OBJECT, reader.nextToken());
+        assertEquals(BeatToken.KEY, reader.nextToken());
+        assertTrue(reader.textEquals("skipped"));
+        assertEquals(BeatToken.TYPE_NAME, reader.nextToken());
+
+        reader.skipChildren();
+
+        assertEquals(BeatToken.END_OBJECT, reader.getToken());
+        assertEquals(1, reader.getDepth());
+        assertEquals(BeatToken.KEY, reader.nextToken());
+        assertEquals("kept", reader.getKey());
+        assertEquals(BeatToken.BEGIN_OBJECT, reader.nextToken());
+
+        reader.skipChildren();
+
+        assertEquals(BeatToken.KEY, reader.nextToken());
+        assertEquals("last", reader.getKey());
+        assertEquals(BeatToken.SCALAR, reader.nextToken());
+        assertEquals(5L, reader.getLong());
+        assertEquals(BeatToken.END_OBJECT, reader.nextToken());
+    }
+
+    @Test
+    void testInvalidSyntax() {
+        assertException(InvalidSyntaxException.class, () -> drain(new BeatReader("{a: 1 b: 2}")));
+        assertException(InvalidSyntaxException.class, () -> drain(new BeatReader("[1, 2")));
+        assertException(InvalidSyntaxException.class, () -> drain(new BeatReader("{a 1}")));
+        assertException(InvalidSyntaxException.class, () -> drain(new BeatReader("x<r> 1")));
+    }
+
+    private static void drain(BeatReader reader) {
+        while (reader.nextToken() != BeatToken.END_DOCUMENT) {
+            // consume
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package org.beat.formats.text;
+
+import org.beat.errors.BeatException;
+import org.beat.io.CharOutput;
+import org.beat.io.standard.AppendableOutput;
+import org.beat.io.standard.PrettyPrintOutput;
+import org.beat.io.standard.StringInput;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static util.CustomAssertions.assertException;
+
+class BeatWriterTest {
+
+    @Test
+    void testSameLayoutAsEncoder() {
+        var map = new LinkedHashMap<String, Object>();
+        map.put("name", "Intro");
+        map.put("track", 1);
+        map.put("ratio", 0.5);
+        map.put("tags", List.of("a", "b c"));
+        map.put("empty", List.of());
+        map.put("extra", null);
+
+        for (Function<StringBuilder, CharOutput> factory : List.<Function<StringBuilder, CharOutput>>of(AppendableOutput::new, PrettyPrintOutput::new)) {
+            var expected = new StringBuilder();
+            new TextEncoder().write(map, factory.apply(expected));
+
+            var actual = new StringBuilder();
+            new BeatWriter(factory.apply(actual))
+                    .beginObject()
+                    .key("name").value("Intro")
+                    .key("track").value(1)
+                    .key("ratio").value(0.5)
+                    .key("tags").beginArray().value("a").value("b c").end()
+                    .key("empty").beginArray().end()
+                    .key("extra").nullValue()
+                    .end();
+
+            assertEquals(expected.toString(), actual.toString());
+        }
+    }
+
+    @Test
+    void testTypesAndReferences() {
+        var buffer = new StringBuilder();
+
+        new BeatWriter(new AppendableOutput(buffer))
+                .beginArray()
+                .beginObject("song", "s1").key("length").beginValue("duration").value(90).end().end()
+                .reference("s1")
+                .encode(List.of(1, 2))
+                .value(new byte[] {1, 2, 3})
+                .end();
+
+        var text = buffer.toString();
+
+        assertEquals("[song<s1>{length:duration(90)},<s1>,[1,2],\"AQID\"]", text);
+
+        var reader = new BeatReader(text);
+        var count = 0;
+
+        while (reader.nextToken() != BeatToken.END_DOCUMENT) {
+            count++;
+        }
+
+        assertEquals(17, count);
+    }
+
+    @Test
+    void testCompactDocuments() {
+        var buffer = new StringBuilder();
+
+        new BeatWriter(new AppendableOutput(buffer))
+                .value(1)
+                .value(2)
+                .value("x")
+                .value("y");
+
+        var text = buffer.toString();
+        var documents = new ArrayList<>();
+
+        assertEquals("1\n2\nx\ny", text);
+
+        new DocumentReader<>(new TextDecoder(), new StringInput(text), Object.class, null).forEachRemaining(documents::add);
+
+        assertEquals(List.of(BigInteger.ONE, BigInteger.TWO, "x", "y"), documents);
+    }
+
+    @Test
+    void testInvalidCalls() {
+        var writer = new BeatWriter(new AppendableOutput(new StringBuilder()));
+
+        assertException(BeatException.class, () -> writer.key("a"));
+        assertException(BeatException.class, writer::end);
+
+        writer.beginObject();
+
+        assertException(BeatException.class, () -> writer.value(1));
+
+        writer.key("a");
+
+        assertException(BeatException.class, () -> writer.key("b"));
+        assertException(BeatException.class, writer::end);
+    }
+
+}
@@ -0,0 +1,78 @@
+package org.beat.formats.text;
+
+import org.beat.errors.InvalidSyntaxException;
+import org.beat.types.DefaultTypedObject;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static util.CustomAssertions.assertException;
+import static util.CustomAssertions.assertInstanceOf;
+
+class IncrementalDecoderTest {
+
+    private static final String TEXT = "{a: 'héllo € \\' }'} 42 song{x: 1}\n[1, (2)] <r1>(x) <r1> \"str\"";
+
+    @Test
+    void testFeedByteByByte() {
+        var decoder = new IncrementalDecoder(new TextDecoder());
+        var documents = new ArrayList<Object>();
+
+        for (var b : TEXT.getBytes(StandardCharsets.UTF_8)) {
+            decoder.feed(ByteBuffer.wrap(new byte[] {b}));
+
+            while (decoder.hasDocument()) {
+                documents.add(decoder.nextDocument());
+            }
+        }
+
+        // The last string could still be a type name
+        assertEquals(6, documents.size());
+        assertEquals(IncrementalDecoder.Status.DOCUMENT_READY, decoder.finish());
+
+        documents.add(decoder.nextDocument());
+
+        assertEquals(Map.of("a", "héllo € ' }"), documents.get(0));
+        assertEquals(42, ((Number)documents.get(1)).intValue());
+        assertInstanceOf(DefaultTypedObject.class, documents.get(2));
+        assertEquals(2, ((List<?>)documents.get(3)).size());
+        assertEquals("x", documents.get(4));
+        assertEquals("x", documents.get(5));
+        assertEquals("str", documents.get(6));
+        assertFalse(decoder.hasDocument());
+    }
+
+    @Test
+    void testFeedChunks() {
+        var decoder = new IncrementalDecoder(new TextDecoder());
+        var bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        var count = 0;
+
+        for (var offset = 0; offset < bytes.length; offset += 7) {
+            var chunk = ByteBuffer.wrap(bytes, offset, Math.min(7, bytes.length - offset));
+
+            while (decoder.feed(chunk) == IncrementalDecoder.Status.DOCUMENT_READY) {
+                decoder.nextDocument();
+                count++;
+            }
+        }
+
+        assertEquals(6, count);
+    }
+
+    @Test
+    void testIncompleteInput() {
+        var decoder = new IncrementalDecoder(new TextDecoder());
+
+        assertEquals(IncrementalDecoder.Status.NEED_MORE_INPUT, decoder.feed(ByteBuffer.wrap("{a: [1, 2".getBytes(StandardCharsets.UTF_8))));
+        assertEquals(IncrementalDecoder.Status.DOCUMENT_READY, decoder.finish());
+        assertException(InvalidSyntaxException.class, decoder::nextDocument);
+    }
+
+}
@@ -1,8 +1,12 @@
 package org.beat.formats.text;
 
 import org.junit.jupiter.api.Test;
+import org.beat.errors.BeatException;
+import org.beat.errors.ConversionException;
 import org.beat.errors.InvalidSyntaxException;
+import org.beat.examiners.PrimitiveKind;
 import org.beat.io.standard.SequenceInput;
+import org.beat.io.standard.StringInput;
 import org.beat.producers.ValueProducer;
 import org.beat.producers.standard.array.ClassListProducer;
 import org.beat.producers.standard.object.ClassObjectProducer;
@@ -15,15 +19,26 @@ import org.beat.types.DefaultObject;
 import org.beat.types.DefaultList;
 import org.beat.types.DefaultTypedValue;
 import org.beat.types.DefaultValue;
+import org.beat.types.LazyNumber;
 import org.beat.util.PP;
+import org.beat.util.ReflectUtils;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -42,6 +57,63 @@ class TextDecoderTest {
 
     public static class StringList extends ArrayList<String> {}
 
+    public static class Amount {
+        public final BigDecimal value;
+
+        public Amount(BigDecimal value) {
+            this.value = value;
+        }
+    }
+
+    public static class Measures {
+        public int i;
+        public long l;
+        public double d;
+        public float f;
+        public short s;
+        public byte b;
+        public Integer boxedInt;
+        public Long boxedLong;
+        public List<Double> doubles;
+        public List<Float> floats;
+    }
+
+    public static class Series {
+        public int[] ints;
+        public long[] longs;
+        public double[] doubles;
+        public boolean[] flags;
+        public short[] shorts;
+        public String[] names;
+        public List<String>[] groups;
+    }
+
+    public static class Attachment {
+        public String name;
+        public byte[] data;
+        public ByteBuffer buffer;
+    }
+
+    public static class Flags {
+        public boolean enabled;
+        public double ratio;
+        private int level;
+
+        public void setLevel(int level) {
+            this.level = level * 10;
+        }
+    }
+
+    public static class Contact {
+        public String name;
+        public String email;
+        private String phone;
+
+        public void setPhone(String phone) {
+            this.phone = "tel:" + phone;
+        }
+    }
+
     @Test
     void testGetReference() {
         var references = new StandardReferenceTracker();
@@ -266,4 +338,353 @@ class TextDecoderTest {
         }
     }
 
+    @Test
+    void testReadArrayBackedInputs() {
+        var decoder = new TextDecoder();
+        var text = "{k1: [a, 'b c'], k2: \"d\\te\"}";
+        var expected = decoder.read(new SequenceInput(text));
+
+        assertEquals(expected, decoder.read(text));
+        assertEquals(StringInput.class, TextDecoder.createInput(text).getClass());
+        assertEquals(expected, decoder.read(text.toCharArray()));
+        assertEquals(expected, decoder.read(CharBuffer.wrap(("  " + text).toCharArray(), 2, text.length())));
+        assertEquals(expected, decoder.read(new StringBuilder(text)));
+    }
+
+    @Test
+    void testInvalidSyntaxLocation() {
+        var decoder = new TextDecoder();
+        var e = assertException(InvalidSyntaxException.class, () -> decoder.read("{\n  k1: v1\n  k2: v2\n}"));
+
+        assertTrue(e.getMessage().contains("Ln. 3, Col. 3"), e.getMessage());
+    }
+
+    @Test
+    void testObjectSlots() {
+        var producer = new ClassObjectProducer(Contact.class);
+        var name = producer.findSlot(new StringBuilder("name"), null);
+        var email = producer.findSlot("email", name);
+
+        assertEquals("name", name.getKey());
+        assertEquals("email", email.getKey());
+        assertEquals(String.class, email.getTypeHint());
+        assertSame(name, producer.findSlot("name", email));
+        assertNull(producer.findSlot("unknown", email));
+    }
+
+    @Test
+    void testReadObjectWithSlots() {
+        var decoder = new TextDecoder();
+
+        var ordered = decoder.read("{name: a, email: 'b@c', \"phone\": 1}", Contact.class);
+        var unordered = decoder.read("{phone: 1, 'email': 'b@c', name: a}", Contact.class);
+
+        for (var contact : List.of(ordered, unordered)) {
+            assertEquals("a", contact.name);
+            assertEquals("b@c", contact.email);
+            assertEquals("tel:1", contact.phone);
+        }
+
+        assertException(BeatException.class, () -> decoder.read("{name: a, other: b}", Contact.class));
+    }
+
+    @Test
+    void testReadNumbersWithHints() {
+        var decoder = new TextDecoder();
+        var text = "{i: -2147483648, l: 9223372036854775807, d: -1.5e-3, f: 0.1, s: -32768, b: 127," +
+                " boxedInt: +42, boxedLong: null, doubles: [1, 2.5, .125]}";
+        var measures = decoder.read(text, Measures.class);
+
+        assertEquals(Integer.MIN_VALUE, measures.i);
+        assertEquals(Long.MAX_VALUE, measures.l);
+        assertEquals(-1.5e-3, measures.d);
+        assertEquals(0.1f, measures.f);
+        assertEquals(Short.MIN_VALUE, measures.s);
+        assertEquals(Byte.MAX_VALUE, measures.b);
+        assertEquals(42, measures.boxedInt);
+        assertNull(measures.boxedLong);
+        assertEquals(List.of(1.0, 2.5, 0.125), measures.doubles);
+
+        assertEquals("Measures[i]: Number 2147483648 is out of range for int.",
+                assertException(BeatException.class, () -> decoder.read("{i: 2147483648}", Measures.class)).getMessage());
+        assertException(ConversionException.class, () -> decoder.read("{b: -129}", Measures.class));
+        assertEquals("Measures[l]: Number -9223372036854775809 is out of range for long.",
+                assertException(BeatException.class, () -> decoder.read("{l: -9223372036854775809}", Measures.class)).getMessage());
+
+        // Wrapped values go through the converting setter, which checks the range as well
+        assertEquals(7, decoder.read("{i: (7), boxedInt: (8)}", Measures.class).i);
+        assertEquals("Measures[i]: Number 99999999999 is out of range for int.",
+                assertException(BeatException.class, () -> decoder.read("{i: (99999999999)}", Measures.class)).getMessage());
+        assertEquals(-5, ReflectUtils.convertTo(new BigDecimal("-5"), Integer.class));
+        assertException(ConversionException.class, () -> ReflectUtils.convertTo(-99999999999L, Integer.class));
+        assertException(ConversionException.class, () -> ReflectUtils.convertTo(new BigInteger("2147483648"), int.class));
+        assertException(ConversionException.class, () -> ReflectUtils.convertTo(new LazyNumber("1e10"), int.class));
+    }
+
+    @Test
+    void testReadPrimitiveSlots() {
+        var producer = new ClassObjectProducer(Flags.class);
+        var slot = producer.findSlot("level", null);
+        var flags = new Flags();
+
+        assertEquals(PrimitiveKind.INT, slot.getKind());
+        assertEquals(PrimitiveKind.BOOLEAN, producer.findSlot("enabled", null).getKind());
+        assertEquals(PrimitiveKind.DOUBLE, producer.findSlot("ratio", null).getKind());
+
+        slot.setInt(flags, 2);
+        assertEquals(20, flags.level);
+        slot.set(flags, 3L);
+        assertEquals(30, flags.level);
+
+        var decoder = new TextDecoder();
+
+        flags = decoder.read("{enabled: true, ratio: 2, level: -4}", Flags.class);
+        assertTrue(flags.enabled);
+        assertEquals(2.0, flags.ratio);
+        assertEquals(-40, flags.level);
+
+        // Anything but a plain token still goes through the converting setter
+        flags = decoder.read("{enabled: false, ratio: 0.5, level: (1)}", Flags.class);
+        assertFalse(flags.enabled);
+        assertEquals(0.5, flags.ratio);
+        assertEquals(10, flags.level);
+
+        assertException(BeatException.class, () -> decoder.read("{enabled: yes}", Flags.class));
+        assertEquals("Flags[level]: Number 2147483648 is out of range for int.",
+                assertException(BeatException.class, () -> decoder.read("{level: 2147483648}", Flags.class)).getMessage());
+    }
+
+    @Test
+    void testReadArrays() {
+        var decoder = new TextDecoder();
+        var text = "{ints: [1, -2, 3, 4, 5, 6, 7, 8, 9, 10], longs: [9223372036854775807], doubles: [1, .5, 2.0e3]," +
+                " flags: [true, false], shorts: [1, 2], names: [a, \"b c\", null], groups: [[x], []]}";
+        var series = decoder.read(text, Series.class);
+
+        assertEquals(int[].class, series.ints.getClass());
+        assertEquals(List.of(1, -2, 3, 4, 5, 6, 7, 8, 9, 10), Arrays.stream(series.ints).boxed().collect(Collectors.toList()));
+        assertEquals(Long.MAX_VALUE, series.longs[0]);
+        assertEquals(1, series.longs.length);
+        assertEquals(List.of(1.0, 0.5, 2000.0), Arrays.stream(series.doubles).boxed().collect(Collectors.toList()));
+        assertTrue(series.flags[0]);
+        assertFalse(series.flags[1]);
+        assertEquals(2, series.flags.length);
+        assertEquals(2, series.shorts[1]);
+        assertEquals(List.of("a", "b c"), Arrays.asList(series.names).subList(0, 2));
+        assertNull(series.names[2]);
+        assertEquals(List.of(List.of("x"), List.of()), Arrays.asList(series.groups));
+
+        assertEquals(0, decoder.read("[]", double[].class).length);
+        assertEquals("int[]: Number 2147483648 is out of range for int.",
+                assertException(BeatException.class, () -> decoder.read("[2147483648]", int[].class)).getMessage());
+        assertEquals("int[]: Cannot convert null to a primitive.",
+                assertException(BeatException.class, () -> decoder.read("[1, null]", int[].class)).getMessage());
+        assertEquals("boolean[]: Cannot convert null to a primitive.",
+                assertException(BeatException.class, () -> decoder.read("[null]", boolean[].class)).getMessage());
+    }
+
+    @Test
+    void testReadBinary() {
+        var decoder = new TextDecoder();
+        var random = new Random(5);
+
+        for (var length = 0; length < 20; length++) {
+            var data = new byte[length];
+            random.nextBytes(data);
+
+            var text = "\"" + Base64.getEncoder().encodeToString(data) + "\"";
+
+            assertArrayEquals(data, decoder.read(text, byte[].class));
+            assertArrayEquals(data, decoder.read(text.replace("=", ""), byte[].class));
+        }
+
+        var attachment = decoder.read("{name: a, data: 'AQID', buffer: \"/wA=\"}", Attachment.class);
+
+        assertArrayEquals(new byte[]{1, 2, 3}, attachment.data);
+        assertEquals(ByteBuffer.wrap(new byte[]{-1, 0}), attachment.buffer);
+
+        attachment = decoder.read("{data: null, buffer: ('AQ==')}", Attachment.class);
+
+        assertNull(attachment.data);
+        assertEquals(ByteBuffer.wrap(new byte[]{1}), attachment.buffer);
+
+        assertException(ConversionException.class, () -> decoder.read("'A*=='", byte[].class));
+        assertException(ConversionException.class, () -> decoder.read("'AAAAA'", byte[].class));
+    }
+
+    @Test
+    void testReadDecimalsLikeJdk() {
+        var decoder = new TextDecoder();
+        var random = new Random(7);
+        var doubles = new StringBuilder("{doubles: [");
+        var floats = new StringBuilder("{floats: [");
+        var expectedDoubles = new ArrayList<Double>();
+        var expectedFloats = new ArrayList<Float>();
+
+        for (var i = 0; i < 2000; i++) {
+            var digits = Long.toString(Math.abs(random.nextLong()) % (1L << (1 + random.nextInt(62))));
+            var point = random.nextInt(digits.length() + 1);
+            var token = digits.substring(0, point) + "." + digits.substring(point) + "0";
+
+            if (random.nextBoolean()) {
+                token += "e" + (random.nextInt(60) - 30);
+            }
+
+            doubles.append(token).append(',');
+            floats.append(token).append(',');
+            expectedDoubles.add(Double.parseDouble(token));
+            expectedFloats.add(Float.parseFloat(token));
+        }
+
+        doubles.append("]}");
+        floats.append("]}");
+
+        assertEquals(expectedDoubles, decoder.read(doubles, Measures.class).doubles);
+        assertEquals(expectedFloats, decoder.read(floats, Measures.class).floats);
+    }
+
+    @Test
+    void testNumberModes() {
+        var decoder = new TextDecoder();
+        var text = "[1, 3000000000, 99999999999999999999, 0.5, 1.0e400]";
+
+        assertEquals(NumberMode.BIG, decoder.getNumberMode());
+        assertEquals(List.of(
+                BigInteger.ONE, new BigInteger("3000000000"), new BigInteger("99999999999999999999"),
+                new BigDecimal("0.5"), new BigDecimal("1.0e400")), decoder.read(text));
+
+        decoder.setNumberMode(NumberMode.SMALLEST);
+        assertEquals(List.of(
+                1, 3000000000L, new BigInteger("99999999999999999999"),
+                0.5, new BigDecimal("1.0e400")), decoder.read(text));
+
+        decoder.setNumberMode(NumberMode.LONG_DOUBLE);
+        assertEquals(List.of(
+                1L, 3000000000L, new BigInteger("99999999999999999999"),
+                0.5, new BigDecimal("1.0e400")), decoder.read(text));
+
+        // Decimals that underflow a double are kept exact as well
+        var tiny = "[1.5e-330, 0.1e-400, 0.0e-400, -0.0]";
+
+        for (var mode : List.of(NumberMode.SMALLEST, NumberMode.LONG_DOUBLE)) {
+            decoder.setNumberMode(mode);
+            assertEquals(List.of(new BigDecimal("1.5e-330"), new BigDecimal("0.1e-400"), 0.0, -0.0), decoder.read(tiny));
+        }
+
+        decoder.setNumberMode(NumberMode.LAZY);
+        var lazy = (List<?>)decoder.read(text);
+        var number = (LazyNumber)lazy.get(3);
+
+        assertEquals("0.5", number.getText());
+        assertEquals(0.5, number.doubleValue());
+        assertEquals(1L, ((LazyNumber)lazy.get(0)).getValue());
+        assertEquals(new BigDecimal("1.0e400"), ((LazyNumber)lazy.get(4)).getValue());
+    }
+
+    @Test
+    void testNumberModeWithBigHints() {
+        var decoder = new TextDecoder();
+
+        decoder.setNumberMode(NumberMode.SMALLEST);
+
+        assertEquals(BigInteger.TEN, decoder.read("10", BigInteger.class));
+        assertEquals(new BigDecimal("0.1"), decoder.read("0.1", BigDecimal.class));
+    }
+
+    @Test
+    void testNumberModeWithTypedHints() {
+        var repository = new StandardProducerRepository();
+        var decoder = new TextDecoder(repository);
+
+        repository.register(Amount.class, ValueProducer.of(value -> new Amount((BigDecimal)value)));
+
+        for (var mode : NumberMode.values()) {
+            decoder.setNumberMode(mode);
+
+            assertEquals("1.10", decoder.read("{content: 1.10}", Message.class).content);
+            assertEquals(new BigDecimal("1.10"), decoder.read("1.10", Amount.class).value);
+        }
+    }
+
+    @Test
+    void testParseWithVisitor() {
+        var events = new ArrayList<String>();
+        var visitor = new BeatVisitor() {
+            @Override
+            public void onObjectStart(CharSequence typeName, CharSequence reference) {
+                events.add("{" + typeName + "<" + reference + ">");
+            }
+
+            @Override
+            public void onObjectEnd() {
+                events.add("}");
+            }
+
+            @Override
+            public void onArrayStart(CharSequence typeName, CharSequence reference) {
+                events.add("[" + typeName);
+            }
+
+            @Override
+            public void onArrayEnd() {
+                events.add("]");
+            }
+
+            @Override
+            public void onValueStart(CharSequence typeName, CharSequence reference) {
+                events.add("(" + typeName);
+            }
+
+            @Override
+            public void onValueEnd() {
+                events.add(")");
+            }
+
+            @Override
+            public void onKey(CharSequence key) {
+                events.add(key + ":");
+            }
+
+            @Override
+            public void onReference(CharSequence reference) {
+                events.add("<" + reference + ">");
+            }
+
+            @Override
+            public void onNull() {
+                events.add("null");
+            }
+
+            @Override
+            public void onScalar(boolean value) {
+                events.add("boolean " + value);
+            }
+
+            @Override
+            public void onScalar(long value) {
+                events.add("long " + value);
+            }
+
+            @Override
+            public void onScalar(double value) {
+                events.add("double " + value);
+            }
+
+            @Override
+            public void onScalar(CharSequence text) {
+                events.add("text " + text);
+            }
+        };
+
+        new TextDecoder().parse(new SequenceInput(
+                "song<s1>{a: 1, b: 2.5, c: [<s1>, 'x', null], d: duration(true), e: 99999999999999999999, f: <s1>}"), visitor);
+
+        assertEquals(List.of(
+                "{song<s1>", "a:", "long 1", "b:", "double 2.5",
+                "c:", "[null", "<s1>", "text x", "null", "]",
+                "d:", "(duration", "boolean true", ")",
+                "e:", "text 99999999999999999999",
+                "f:", "<s1>", "}"), events);
+    }
+
 }
@@ -1,10 +1,12 @@
 package org.beat.formats.text;
 
 import org.junit.jupiter.api.Test;
+import org.beat.errors.BeatException;
 import org.beat.errors.CyclicDocumentException;
 import org.beat.errors.UnsupportedValueException;
 import org.beat.examiners.Examiner;
 import org.beat.examiners.Examiners;
+import org.beat.examiners.PrimitiveKind;
 import org.beat.examiners.standard.array.ArrayInstanceExaminer;
 import org.beat.examiners.standard.array.ListExaminer;
 import org.beat.examiners.standard.object.ClassObjectExaminer;
@@ -18,11 +20,19 @@ import org.beat.types.standard.DefaultTypedListImpl;
 import org.beat.types.standard.DefaultTypedObjectImpl;
 import org.beat.types.standard.DefaultTypedValueImpl;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.math.RoundingMode;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -34,6 +44,20 @@ class TextEncoderTest {
 
     public static class CyclicNode { public CyclicNode inner; }
 
+    public static class Reading {
+        public int count = 3;
+        public long total = 10_000_000_000L;
+        public double ratio = 0.25;
+        public boolean valid = true;
+        public short level = 2;
+        public float scale = 0.1f;
+        public Integer boxed = null;
+
+        public int getSum() {
+            return count + level;
+        }
+    }
+
     @Test
     void testSearchCustomExaminer() {
         var repository = new StandardExaminerRepository()
@@ -304,4 +328,180 @@ class TextEncoderTest {
         assertEquals("\"\\t\\r\\n\\\"\"", text);
     }
 
+    @Test
+    void testSearchExaminerByClassHierarchy() {
+        var repository = new StandardExaminerRepository()
+                .register(Examiners.value("Num", Object::toString), Number.class)
+                .register(Examiners.value("Seq", Object::toString), CharSequence.class);
+        var encoder = new TextEncoder(repository);
+
+        assertEquals("Num(1)", encoder.write(1));
+        assertEquals("Num(2)", encoder.write(2L));
+        assertEquals("Seq(abc)", encoder.write(new StringBuilder("abc")));
+        assertEquals("[Num(1),Num(2)]", encoder.write(List.of(1, 2)));
+    }
+
+    @Test
+    void testSearchExaminerKeepsPredicateOrder() {
+        var repository = new StandardExaminerRepository()
+                .register(Examiners.value("Neg", Object::toString), value -> value instanceof Integer && (Integer)value < 0)
+                .register(Examiners.value("Int", Object::toString), Integer.class)
+                .register(Examiners.value("Str", Object::toString), value -> value instanceof String);
+        var encoder = new TextEncoder(repository);
+
+        assertEquals("[Neg(-1),Int(1),Neg(-2),Int(2)]", encoder.write(List.of(-1, 1, -2, 2)));
+        assertEquals("Str(x)", encoder.write("x"));
+    }
+
+    @Test
+    void testSearchExaminerWithClassPurePredicate() {
+        var tested = new int[1];
+        var repository = new StandardExaminerRepository()
+                .register(Examiners.value("Num", Object::toString), value -> {
+                    tested[0]++;
+                    return value instanceof Number;
+                }, true);
+        var encoder = new TextEncoder(repository);
+
+        assertEquals("[Num(1),Num(2),Num(3)]", encoder.write(List.of(1, 2, 3)));
+        // Once for the list class and once for Integer
+        assertEquals(2, tested[0]);
+    }
+
+    @Test
+    void testWriteNumbers() {
+        var encoder = new TextEncoder();
+
+        assertEquals("[0,-7,127,-32768,2147483647,-2147483648]",
+                encoder.write(List.of(0, -7, (byte)127, Short.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE)));
+        assertEquals("[9223372036854775807,-9223372036854775808,1000000000000]",
+                encoder.write(List.of(Long.MAX_VALUE, Long.MIN_VALUE, 1_000_000_000_000L)));
+        assertEquals("[0.0,-0.0,1.0,0.1,0.001,1.0E-4,1234567.0,1.0E7,1.7976931348623157E308,4.9E-324]",
+                encoder.write(List.of(0.0, -0.0, 1.0, 0.1, 0.001, 0.0001, 1234567.0, 1e7, Double.MAX_VALUE, Double.MIN_VALUE)));
+        assertEquals("[0.1,3.4028235E38,1.4E-45,1.0E10,-2.5]",
+                encoder.write(List.of(0.1f, Float.MAX_VALUE, Float.MIN_VALUE, 1e10f, -2.5f)));
+        assertEquals("[NaN,Infinity,-Infinity]",
+                encoder.write(List.of(Double.NaN, Double.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY)));
+        assertEquals("[12345678901234567890,1.50]",
+                encoder.write(List.of(new BigInteger("12345678901234567890"), new BigDecimal("1.50"))));
+    }
+
+    @Test
+    void testWritePrimitiveAttributes() {
+        var examiner = new ClassObjectExaminer(Reading.class);
+        var reading = new Reading();
+
+        assertEquals(PrimitiveKind.INT, examiner.getKind(reading, "count"));
+        assertEquals(PrimitiveKind.INT, examiner.getKind(reading, "sum"));
+        assertEquals(PrimitiveKind.NONE, examiner.getKind(reading, "level"));
+        assertEquals(PrimitiveKind.NONE, examiner.getKind(reading, "boxed"));
+        assertEquals(5, examiner.getInt(reading, "sum"));
+        assertEquals(10_000_000_000L, examiner.getLong(reading, "total"));
+        assertEquals(0.25, examiner.getDouble(reading, "ratio"));
+        assertTrue(examiner.getBoolean(reading, "valid"));
+        assertException(BeatException.class, () -> examiner.getLong(reading, "count"));
+
+        var expected = "{count:3,total:10000000000,ratio:0.25,valid:true,level:2,scale:0.1,boxed:null,sum:5}";
+
+        assertEquals(expected, new TextEncoder().write(reading));
+
+        // A custom examiner for a boxed type still applies to primitive attributes
+        var repository = new StandardExaminerRepository()
+                .register(Examiners.value("Int", Object::toString), Integer.class);
+
+        assertEquals("{count:Int(3),total:10000000000,ratio:0.25,valid:true,level:2,scale:0.1,boxed:null,sum:Int(5)}",
+                new TextEncoder(repository).write(reading));
+    }
+
+    @Test
+    void testWriteArrays() {
+        var encoder = new TextEncoder();
+
+        assertEquals("[-1,0,2147483647]", encoder.write(new int[]{-1, 0, Integer.MAX_VALUE}));
+        assertEquals("[10000000000]", encoder.write(new long[]{10_000_000_000L}));
+        assertEquals("[0.5,1.0E-5]", encoder.write(new double[]{0.5, 1e-5}));
+        assertEquals("[true,false]", encoder.write(new boolean[]{true, false}));
+        assertEquals("[1,2]", encoder.write(new short[]{1, 2}));
+        assertEquals("[0.1]", encoder.write(new float[]{0.1f}));
+        assertEquals("[a,null,[1]]", encoder.write(new Object[]{"a", null, new int[]{1}}));
+        assertEquals("[]", encoder.write(new double[0]));
+
+        var repository = new StandardExaminerRepository()
+                .register(Examiners.value("Int", Object::toString), Integer.class);
+
+        assertEquals("[Int(1),Int(2)]", new TextEncoder(repository).write(new int[]{1, 2}));
+    }
+
+    @Test
+    void testWriteBinary() {
+        var encoder = new TextEncoder();
+        var random = new Random(3);
+
+        for (var length = 0; length < 20; length++) {
+            var data = new byte[length];
+            random.nextBytes(data);
+
+            assertEquals("\"" + Base64.getEncoder().encodeToString(data) + "\"", encoder.write(data));
+        }
+
+        var buffer = ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5});
+        buffer.position(1);
+
+        assertEquals("\"AgMEBQ==\"", encoder.write(buffer));
+        assertEquals(1, buffer.position());
+
+        var direct = ByteBuffer.allocateDirect(2).put((byte)-1).put((byte)0).flip();
+
+        assertEquals("\"/wA=\"", encoder.write(direct));
+        assertEquals("[\"AQ==\",\"\"]", encoder.write(List.of(new byte[]{1}, new byte[0])));
+    }
+
+    @Test
+    void testWriteShortestDecimals() {
+        var encoder = new TextEncoder();
+        var random = new Random(42);
+
+        for (var i = 0; i < 20_000; i++) {
+            var value = Double.longBitsToDouble(random.nextLong());
+
+            if (Double.isFinite(value)) {
+                var text = encoder.write(value);
+
+                assertEquals(value, Double.parseDouble(text), text);
+                assertEquals(shortestDigits(new BigDecimal(value), 17, digits -> digits.doubleValue() == value), countDigits(text), text);
+            }
+        }
+
+        for (var i = 0; i < 20_000; i++) {
+            var value = Float.intBitsToFloat(random.nextInt());
+
+            if (Float.isFinite(value)) {
+                var text = encoder.write(value);
+
+                assertEquals(value, Float.parseFloat(text), text);
+                assertEquals(shortestDigits(new BigDecimal(value), 9, digits -> digits.floatValue() == value), countDigits(text), text);
+            }
+        }
+
+        // Values where the old JDK printer used more digits than needed
+        assertEquals("0.002", encoder.write(2.0E-3));
+        assertEquals("1.0E23", encoder.write(1.0E23));
+        assertEquals("9.9E-324", encoder.write(9.9E-324));
+    }
+
+    private static int shortestDigits(BigDecimal exact, int maxDigits, Predicate<BigDecimal> roundTrips) {
+        for (var digits = 1; digits < maxDigits; digits++) {
+            if (roundTrips.test(exact.round(new MathContext(digits, RoundingMode.FLOOR)))
+                    || roundTrips.test(exact.round(new MathContext(digits, RoundingMode.CEILING)))) {
+                return digits;
+            }
+        }
+        return maxDigits;
+    }
+
+    private static int countDigits(String text) {
+        var mantissa = text.replaceFirst("E.*", "").replace("-", "").replace(".", "");
+        return new BigDecimal(mantissa).stripTrailingZeros().precision();
+    }
+
 }
@@ -0,0 +1,61 @@
+package org.beat.io.standard;
+
+import org.beat.Beat;
+import org.beat.formats.text.TextDecoder;
+import org.beat.types.DefaultList;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static util.CustomAssertions.assertInstanceOf;
+
+class ReaderInputTest {
+
+    @Test
+    void testReadAcrossBlocks() {
+        var input = new ReaderInput(new StringReader("abc\ndef"), null, 2);
+        var buffer = new StringBuilder();
+
+        while (input.isAlive()) {
+            buffer.append(input.pull());
+        }
+
+        assertEquals("abc\ndef", buffer.toString());
+        assertEquals(2, input.getLocation().getLine());
+        assertEquals(4, input.getLocation().getColumn());
+    }
+
+    @Test
+    void testEndOfInput() {
+        var input = new ReaderInput(new StringReader("a"));
+
+        assertTrue(input.isAlive());
+        assertEquals('a', input.pull());
+        assertFalse(input.isAlive());
+        assertEquals('\0', input.peek());
+        assertEquals('\0', input.pull());
+    }
+
+    @Test
+    void testDecodeWithSmallBlocks() {
+        var beat = Beat.builder().build();
+        var text = "[alpha, \"beta gamma\", {key: value}, 12.5]";
+        var result = new TextDecoder().read(new ReaderInput(new StringReader(text), null, 3));
+
+        assertInstanceOf(DefaultList.class, result);
+        assertEquals(beat.readText(text), result);
+    }
+
+    @Test
+    void testDecodeTopLevelToken() {
+        var beat = Beat.builder().build();
+
+        assertEquals("alpha", beat.readText(new StringReader("alpha")));
+        assertEquals(List.of(), beat.readText(new StringReader("[]"), List.class));
+    }
+
+}
@@ -0,0 +1,110 @@
+package org.beat.io.standard;
+
+import org.beat.Beat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class Utf8InputTest {
+
+    private static final String TEXT = "{name: \"\u00d1and\u00fa \u20ac \ud834\udd1e\", tags: [a, '\u00fc'], n: 12.5}\nend";
+
+    @Test
+    void testReadAcrossBlocks() {
+        var bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+
+        for (var blockSize = 4; blockSize < 12; blockSize++) {
+            var input = new Utf8Input(new ByteArrayInputStream(bytes), null, blockSize);
+            var buffer = new StringBuilder();
+
+            while (input.isAlive()) {
+                buffer.append(input.pull());
+            }
+
+            assertEquals(TEXT, buffer.toString());
+            assertEquals(2, input.getLocation().getLine());
+            assertEquals(4, input.getLocation().getColumn());
+        }
+    }
+
+    @Test
+    void testPullWhile() {
+        var input = new Utf8Input("abc\u20acde f".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("abc\u20acde", input.pullWhile(c -> c != ' '));
+        assertEquals(' ', input.pull());
+        assertEquals("f", input.pullWhile(c -> true));
+        assertFalse(input.isAlive());
+    }
+
+    @Test
+    void testMalformedBytes() {
+        var input = new Utf8Input(new byte[] {'a', (byte)0xC3, 'b', (byte)0xE2, (byte)0x82});
+        var text = input.pullWhile(c -> true);
+
+        assertEquals("a\ufffdb\ufffd", text);
+    }
+
+    @Test
+    void testReadBytes() {
+        var beat = Beat.builder().build();
+        var bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        var expected = beat.readText(TEXT);
+        var direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+
+        assertEquals(expected, beat.readBytes(bytes));
+        assertEquals(expected, beat.readBytes(ByteBuffer.wrap(bytes)));
+        assertEquals(expected, beat.readBytes(direct));
+        assertEquals(0, direct.position());
+        assertEquals(expected, beat.readBytes(new ByteArrayInputStream(bytes)));
+        assertEquals("x", beat.readBytes("{a: x}".getBytes(StandardCharsets.UTF_8), Map.class).get("a"));
+    }
+
+    @Test
+    void testReadSegments() {
+        var bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+
+        // Segment boundaries inside multibyte chars
+        var input = new Utf8Input(new ByteBuffer[] {
+                ByteBuffer.wrap(bytes, 0, 10).slice(),
+                ByteBuffer.wrap(bytes, 10, 0).slice(),
+                ByteBuffer.wrap(bytes, 10, 17).slice(),
+                ByteBuffer.wrap(bytes, 27, bytes.length - 27).slice(),
+        }, null);
+
+        assertEquals(TEXT, input.pullWhile(c -> true));
+    }
+
+    @Test
+    void testReadFile(@TempDir Path directory) throws IOException {
+        var beat = Beat.builder().build();
+        var file = directory.resolve("items.st");
+
+        Files.writeString(file, "[{id: 1}, {id: 2}, {id: \"\u20ac\"}]", StandardCharsets.UTF_8);
+
+        assertEquals(3, ((List<?>)beat.readFile(file)).size());
+
+        try (var items = beat.streamFile(file, Map.class)) {
+            assertEquals("1,2,\u20ac", items.map(item -> String.valueOf(item.get("id"))).collect(Collectors.joining(",")));
+        }
+
+        var input = Utf8Input.mapFile(file);
+
+        input.close();
+
+        assertFalse(input.isAlive());
+    }
+
+}
@@ -0,0 +1,65 @@
+package org.beat.io.standard;
+
+import org.beat.Beat;
+import org.beat.formats.text.TextEncoder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WriterOutputTest {
+
+    private static Map<String, Object> createDocument() {
+        var map = new LinkedHashMap<String, Object>();
+        map.put("name", "A longer name than the block");
+        map.put("values", List.of(1, 2.5, true));
+        map.put("nested", Map.of("key", "\u20ac"));
+        return map;
+    }
+
+    @Test
+    void testSameOutputWithSmallBlocks() {
+        var document = createDocument();
+
+        for (var prettyPrint : new boolean[] {false, true}) {
+            var expected = new StringBuilder();
+
+            new TextEncoder().write(document, prettyPrint ? new PrettyPrintOutput(expected) : new AppendableOutput(expected));
+
+            for (var blockSize = 1; blockSize < 8; blockSize++) {
+                var writer = new StringWriter();
+                var output = new WriterOutput(writer, prettyPrint, blockSize);
+
+                new TextEncoder().write(document, output);
+                output.flush();
+
+                assertEquals(expected.toString(), writer.toString());
+            }
+        }
+    }
+
+    @Test
+    void testBeatWriteText() {
+        var beat = Beat.builder().build();
+        var document = createDocument();
+        var writer = new StringWriter();
+        var stream = new ByteArrayOutputStream();
+
+        beat.writeText(document, writer);
+        beat.writeBytes(document, stream, true);
+
+        assertEquals(beat.writeText(document), writer.toString());
+        assertEquals(beat.writeText(document), beat.writeText(beat.readBytes(stream.toByteArray())));
+
+        var pretty = new StringBuilder();
+        beat.writeText(document, pretty, true);
+        assertEquals(pretty.toString(), stream.toString(StandardCharsets.UTF_8));
+    }
+
+}